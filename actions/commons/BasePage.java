@@ -1,21 +1,28 @@
 
 package commons;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
@@ -23,7 +30,6 @@ import org.openqa.selenium.support.Color;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import pageObjects.nopcommerce.admin.AdminLoginPageObject;
 import pageObjects.nopcommerce.portal.UserHomePageObject;
@@ -39,6 +45,28 @@ import pageUI.nopcommerce.admin.AdminBasePageUI;
 import pageUI.nopcommerce.portal.UserBasePageUI;
 
 public class BasePage {
+	private static final Log log = LogFactory.getLog(BasePage.class);
+	private static final ThreadLocal<int[]> measureDepth = ThreadLocal.withInitial(() -> new int[1]);
+	private static final String FIND_ELEMENTS_NOW_SCRIPT = "var found = document.evaluate(arguments[0], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), elements = [];"
+			+ "for (var i = 0; i < found.snapshotLength; i++) { elements.push(found.snapshotItem(i)); } return elements;";
+	/**
+	 * Text, visibility (same rules as the in-page waits) and attributes of every element matching arguments[0],
+	 * attributes of arguments[1] are read like WebElement.getAttribute: the property when it is a value, else the attribute
+	 */
+	private static final String READ_ELEMENTS_SCRIPT = "var found = document.evaluate(arguments[0], document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), names = arguments[1], rows = [];"
+			+ "function isVisible(el) { var style = getComputedStyle(el);"
+			+ " if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) return false;"
+			+ " var rect = el.getBoundingClientRect(); return rect.width > 0 && rect.height > 0; }"
+			+ "function read(el, name) { var value = el[name];"
+			+ " if (value === undefined || value === null || typeof value === 'object' || typeof value === 'function') { return el.getAttribute(name); }"
+			+ " return typeof value === 'boolean' ? (value ? 'true' : null) : String(value); }"
+			+ "for (var i = 0; i < found.snapshotLength; i++) { var el = found.snapshotItem(i); if (el.nodeType !== 1) continue;"
+			+ " var visible = isVisible(el), attributes = {};"
+			+ " for (var j = 0; j < names.length; j++) { attributes[names[j]] = read(el, names[j]); }"
+			+ " rows.push({ element: el, text: ((visible ? el.innerText : el.textContent) || '').replace(/\\u00a0/g, ' ').trim(), displayed: visible, attributes: attributes }); }"
+			+ "return rows;";
+	
+	private final ElementCache elementCache = new ElementCache();
 	
 	public static BasePage getBasePage() {
 		return new BasePage();
@@ -50,7 +78,9 @@ public class BasePage {
 	 * @param Url of page
 	 */	
 	public void openBrowser(WebDriver driver, String pageUrl) {
+		elementCache.invalidate();
 		driver.get(pageUrl);
+		getWaitEngine(driver).trackPageActivity();
 	}
 	
 	/** 
@@ -99,8 +129,9 @@ public class BasePage {
 		for (Cookie cookie: cookies) {
 			driver.manage().addCookie(cookie);
 		}
-		sleepInSecond(5);
+		elementCache.invalidate();
 		driver.navigate().refresh();
+		getWaitEngine(driver).trackPageActivity();
 	}
 	
 	/** 
@@ -108,7 +139,9 @@ public class BasePage {
 	 * @param driver
 	 */	
 	public void backToPage(WebDriver driver) {
+		elementCache.invalidate();
 		driver.navigate().back();
+		getWaitEngine(driver).trackPageActivity();
 	}
 		
 	/** 
@@ -116,7 +149,9 @@ public class BasePage {
 	 * @param driver
 	 */	
 	public void forwardToPage(WebDriver driver) {
+		elementCache.invalidate();
 		driver.navigate().back();
+		getWaitEngine(driver).trackPageActivity();
 	}
 	
 	/** 
@@ -124,7 +159,18 @@ public class BasePage {
 	 * @param driver
 	 */		
 	public void refreshCurrentPage(WebDriver driver) {
+		elementCache.invalidate();
 		driver.navigate().refresh();
+		getWaitEngine(driver).trackPageActivity();
+	}
+	
+	/**
+	 * Get the wait engine of the driver, shared by every wait of the page objects
+	 * @param driver
+	 * @return wait engine of the driver
+	 */
+	public WaitEngine getWaitEngine(WebDriver driver) {
+		return WaitEngine.getWaitEngine(driver);
 	}
 	
 	/** 
@@ -132,8 +178,7 @@ public class BasePage {
 	 * @param driver
 	 */		
 	public Alert waitForAlertPresence(WebDriver driver) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, GlobalConstants.LONG_TIMEOUT);
-		return explicitWait.until(ExpectedConditions.alertIsPresent());
+		return getWaitEngine(driver).until(ExpectedConditions.alertIsPresent());
 	}
 	
 	/** 
@@ -141,6 +186,7 @@ public class BasePage {
 	 * @param driver
 	 */		
 	public void acceptAlert(WebDriver driver) {
+		elementCache.invalidate();
 		waitForAlertPresence(driver).accept();
 	}
 	
@@ -149,6 +195,7 @@ public class BasePage {
 	 * @param driver
 	 */		
 	public void cancelAlert(WebDriver driver) {
+		elementCache.invalidate();
 		waitForAlertPresence(driver).dismiss();
 	}
 	
@@ -166,6 +213,7 @@ public class BasePage {
 	 * @param ID of the first/home/default tab
 	 */	
 	public void switchToWindowNotHomeByID(WebDriver driver,String homeID) {
+		elementCache.invalidate();
 		Set<String> allIDs = driver.getWindowHandles();
 		for (String id: allIDs) {
 			if(!id.equals(homeID)) {
@@ -181,6 +229,7 @@ public class BasePage {
 	 * @param title of the another tab
 	 */	
 	public void switchToWindowByTitle(WebDriver driver,String windowTitle) {
+		elementCache.invalidate();
 		Set<String> allIDs = driver.getWindowHandles();
 		for (String id: allIDs) {
 			driver.switchTo().window(id);
@@ -196,6 +245,7 @@ public class BasePage {
 	 * @param ID of the first/home/default tab
 	 */	
 	public void closeAllWithoutParent(WebDriver driver,String parentID) {
+		elementCache.invalidate();
 		Set<String> allIDs = driver.getWindowHandles();
 		for (String id: allIDs) {
 			if(!id.equals(parentID)) {
@@ -220,31 +270,160 @@ public class BasePage {
 	 * @return xpathLocator of the element
 	 */	
 	private By getByXpath(String xpath) {
-		return By.xpath(xpath);
+		return LocatorRegistry.getRegistry().getBy(xpath);
 	}
 	
 	/** 
-	 * Find and get the Web Element
+	 * Find and get the Web Element to act on, the cached handles of the page are dropped since the action may change the page
 	 * @param driver
 	 * @param xpathLocator xpathLocator of the element
 	 * @return web element found
 	 */	
 	private WebElement getElement(WebDriver driver, String xpathLocator) {
-		return driver.findElement(getByXpath(xpathLocator));
+		elementCache.invalidate();
+		return findElement(driver, xpathLocator);
+	}
+	
+	/** 
+	 * Find the Web Element, waiting for it when implicit waits are off
+	 * @param driver
+	 * @param xpathLocator xpathLocator of the element
+	 * @return web element found
+	 */	
+	private WebElement findElement(WebDriver driver, String xpathLocator) {
+		return measure("find", xpathLocator, () -> {
+			By locator = getByXpath(xpathLocator);
+			if (GlobalConstants.IMPLICIT_WAIT_SECONDS > 0) {
+				return driver.findElement(locator);
+			}
+			try {
+				return driver.findElement(locator);
+			} catch (NoSuchElementException e) {
+				return getWaitEngine(driver).untilAdaptive("presence:" + xpathLocator, ExpectedConditions.presenceOfElementLocated(locator));
+			}
+		});
 	}
 	
 	/** 
-	 * Find and get the list of Web Element
+	 * Find and get the list of Web Element, waiting up to LONG_TIMEOUT for the first one
 	 * @param driver
 	 * @param xpathLocator xpathLocator of elements
 	 * @return list of web element found
 	 */	
 	private List<WebElement> getListElement(WebDriver driver, String xpathLocator) {
-		return driver.findElements(getByXpath(xpathLocator));
+		return measure("find all", xpathLocator, () -> {
+			By locator = getByXpath(xpathLocator);
+			List<WebElement> elements = driver.findElements(locator);
+			if (!elements.isEmpty() || GlobalConstants.IMPLICIT_WAIT_SECONDS > 0) {
+				return elements;
+			}
+			try {
+				return getWaitEngine(driver).untilAdaptive("presence:" + xpathLocator, ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+			} catch (TestBudgetExceededException e) {
+				// An empty list would let the test go on (an empty list is "sorted") after its budget is spent
+				throw e;
+			} catch (TimeoutException e) {
+				return elements;
+			}
+		});
+	}
+	
+	/** 
+	 * Find the elements without any wait, also when an implicit wait is set:
+	 * one script call, or findElements with the implicit wait switched off
+	 * @param driver
+	 * @param xpathLocator xpathLocator of elements
+	 * @return elements present right now, maybe empty
+	 */	
+	@SuppressWarnings("unchecked")
+	private List<WebElement> getListElementNow(WebDriver driver, String xpathLocator) {
+		return measure("find now", xpathLocator, () -> {
+			if (driver instanceof JavascriptExecutor) {
+				try {
+					Object elements = ((JavascriptExecutor) driver).executeScript(FIND_ELEMENTS_NOW_SCRIPT, xpathLocator);
+					if (elements instanceof List) {
+						return (List<WebElement>) elements;
+					}
+				} catch (UnsupportedCommandException e) {
+					// findElements below
+				}
+			}
+			driver.manage().timeouts().implicitlyWait(0, TimeUnit.SECONDS);
+			try {
+				return driver.findElements(getByXpath(xpathLocator));
+			} finally {
+				driver.manage().timeouts().implicitlyWait(GlobalConstants.IMPLICIT_WAIT_SECONDS, TimeUnit.SECONDS);
+			}
+		});
+	}
+	
+	/** 
+	 * Read the element through the handle cache of the page object
+	 * @param driver
+	 * @param xpathLocator rendered xpathLocator of the element
+	 * @param reader read done on the element
+	 * @return value read
+	 */	
+	private <T> T readElement(WebDriver driver, String xpathLocator, Function<WebElement, T> reader) {
+		return elementCache.read(driver, xpathLocator, locator -> findElement(driver, locator), reader);
+	}
+	
+	/** 
+	 * Read all elements of the locator with one script call, waiting like getListElement when none is present yet
+	 * @param driver
+	 * @param xpathLocator rendered xpathLocator of elements
+	 * @param attributeNames attributes read for each element
+	 * @return snapshots in document order, maybe empty
+	 */	
+	private List<ElementSnapshot> readAllElements(WebDriver driver, String xpathLocator, String[] attributeNames) {
+		return measure("read all", xpathLocator, () -> {
+			if (!(driver instanceof JavascriptExecutor)) {
+				return readAllElements(getListElement(driver, xpathLocator), attributeNames);
+			}
+			List<ElementSnapshot> snapshots = readAllElementsNow(driver, xpathLocator, attributeNames);
+			if (snapshots.isEmpty() && !getListElement(driver, xpathLocator).isEmpty()) {
+				snapshots = readAllElementsNow(driver, xpathLocator, attributeNames);
+			}
+			return snapshots;
+		});
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<ElementSnapshot> readAllElementsNow(WebDriver driver, String xpathLocator, String[] attributeNames) {
+		Object rows = ((JavascriptExecutor) driver).executeScript(READ_ELEMENTS_SCRIPT, xpathLocator, Arrays.asList(attributeNames));
+		List<ElementSnapshot> snapshots = new ArrayList<>();
+		if (!(rows instanceof List)) {
+			return snapshots;
+		}
+		for (Object row : (List<Object>) rows) {
+			Map<String, Object> values = (Map<String, Object>) row;
+			Map<String, String> attributes = new HashMap<>();
+			Object attributeValues = values.get("attributes");
+			if (attributeValues instanceof Map) {
+				for (Map.Entry<String, Object> attribute : ((Map<String, Object>) attributeValues).entrySet()) {
+					attributes.put(attribute.getKey(), attribute.getValue() == null ? null : String.valueOf(attribute.getValue()));
+				}
+			}
+			snapshots.add(new ElementSnapshot((WebElement) values.get("element"), String.valueOf(values.get("text")), Boolean.TRUE.equals(values.get("displayed")), attributes));
+		}
+		return snapshots;
+	}
+	
+	private List<ElementSnapshot> readAllElements(List<WebElement> elements, String[] attributeNames) {
+		List<ElementSnapshot> snapshots = new ArrayList<>();
+		for (WebElement element : elements) {
+			Map<String, String> attributes = new HashMap<>();
+			for (String attributeName : attributeNames) {
+				attributes.put(attributeName, element.getAttribute(attributeName));
+			}
+			boolean displayed = element.isDisplayed();
+			snapshots.add(new ElementSnapshot(element, displayed ? element.getText() : element.getAttribute("textContent").trim(), displayed, attributes));
+		}
+		return snapshots;
 	}
 	
 	private String getDynamicLocator(String xpathLocator, String...params) {
-		return String.format(xpathLocator, (Object[])params);
+		return LocatorRegistry.getRegistry().render(xpathLocator, params);
 	}
 	/** 
 	 * Click element
@@ -302,8 +481,7 @@ public class BasePage {
 	 * @param xpathLocator of the element
 	 */
 	public String getItemInDefaultDropdown(WebDriver driver, String xpathLocator) {
-		Select selectDropdownList = new Select(driver.findElement(getByXpath(xpathLocator)));
-		return selectDropdownList.getFirstSelectedOption().getText();
+		return readElement(driver, xpathLocator, element -> new Select(element).getFirstSelectedOption().getText());
 	}
 	
 	/**
@@ -314,19 +492,18 @@ public class BasePage {
 	 * @param value you want to select in the dropdown
 	 */
 	public void selectItemInCustomDropdown(WebDriver driver, String parentLocator, String childLocator, String itemValue) {
-		WebDriverWait explicitWait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
 		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
 		
 		getElement(driver, parentLocator).click();		
-		List<WebElement> allItems= explicitWait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(getByXpath(childLocator)));
+		getWaitEngine(driver).until(ExpectedConditions.presenceOfAllElementsLocatedBy(getByXpath(childLocator)));
 		
-		for (WebElement item: allItems) {
+		for (ElementSnapshot item: getElementSnapshots(driver, childLocator)) {
 			if (item.getText().equals(itemValue)) {
 				if(!item.isDisplayed()) {
-					jsExecutor.executeScript("arguments[0].scrollIntoView(true)", item);
-					sleepInSecond(1);
+					jsExecutor.executeScript("arguments[0].scrollIntoView(true)", item.getElement());
+					waitForElementStable(driver, item.getElement());
 				}
-				item.click();
+				item.getElement().click();
 				break;
 			}
 		}
@@ -339,11 +516,11 @@ public class BasePage {
 	 * @return element text
 	 */	
 	public String getElementText(WebDriver driver, String xpathLocator) {
-		return getElement(driver, xpathLocator).getText();
+		return readElement(driver, xpathLocator, WebElement::getText);
 	}
 	
 	public String getElementText(WebDriver driver, String xpathLocator, String...params) {
-		return getElement(driver, getDynamicLocator(xpathLocator, params)).getText();
+		return readElement(driver, getDynamicLocator(xpathLocator, params), WebElement::getText);
 	}
 	
 	/**
@@ -354,11 +531,11 @@ public class BasePage {
 	 * @return attribute value
 	 */	
 	public String getElementAttribute(WebDriver driver, String xpathLocator, String attributeName) {
-		return getElement(driver, xpathLocator).getAttribute(attributeName);
+		return readElement(driver, xpathLocator, element -> element.getAttribute(attributeName));
 	}
 	
 	public String getElementAttribute(WebDriver driver, String xpathLocator, String attributeName, String...params) {
-		return getElement(driver, getDynamicLocator(xpathLocator, params)).getAttribute(attributeName);
+		return readElement(driver, getDynamicLocator(xpathLocator, params), element -> element.getAttribute(attributeName));
 	}
 	
 	/**
@@ -369,7 +546,7 @@ public class BasePage {
 	 * @return css value of
 	 */	
 	public String getCssValue(WebDriver driver, String xpathLocator, String cssValue) {
-		return getElement(driver, xpathLocator).getCssValue(cssValue);
+		return readElement(driver, xpathLocator, element -> element.getCssValue(cssValue));
 	}
 	
 	/**
@@ -381,6 +558,49 @@ public class BasePage {
 		return Color.fromString(rgbaValue).asHex();
 	}
 	
+	/**
+	 * Get text, visibility and element handle of all elements with one script call
+	 * @param driver
+	 * @param xpathLocator of elements
+	 * @return snapshots in document order, the text of a hidden element is its text content
+	 */	
+	public List<ElementSnapshot> getElementSnapshots(WebDriver driver, String xpathLocator) {
+		return readAllElements(driver, xpathLocator, new String[0]);
+	}
+	
+	/**
+	 * Get text of all elements with one script call
+	 * @param driver
+	 * @param xpathLocator of elements
+	 * @return texts in document order
+	 */	
+	public List<String> getElementTexts(WebDriver driver, String xpathLocator) {
+		List<String> texts = new ArrayList<>();
+		for (ElementSnapshot snapshot : readAllElements(driver, xpathLocator, new String[0])) {
+			texts.add(snapshot.getText());
+		}
+		return texts;
+	}
+	
+	public List<String> getElementTexts(WebDriver driver, String xpathLocator, String...params) {
+		return getElementTexts(driver, getDynamicLocator(xpathLocator, params));
+	}
+	
+	/**
+	 * Get the attribute of all elements with one script call
+	 * @param driver
+	 * @param xpathLocator of elements
+	 * @param attributeName attribute or property, e.g. "value", "href"
+	 * @return values in document order, null where the element has no such attribute
+	 */	
+	public List<String> getElementAttributes(WebDriver driver, String xpathLocator, String attributeName) {
+		List<String> values = new ArrayList<>();
+		for (ElementSnapshot snapshot : readAllElements(driver, xpathLocator, new String[] { attributeName })) {
+			values.add(snapshot.getAttribute(attributeName));
+		}
+		return values;
+	}
+	
 	/**
 	 * Get size of multiple the element
 	 * @param driver
@@ -426,7 +646,7 @@ public class BasePage {
 	 * @return true/false
 	 */
 	public boolean isElementEnabled(WebDriver driver, String xpathLocator) {
-		return getElement(driver, xpathLocator).isEnabled();
+		return readElement(driver, xpathLocator, WebElement::isEnabled);
 	}
 	
 	/**
@@ -436,26 +656,30 @@ public class BasePage {
 	 * @return true/false
 	 */
 	public boolean isElementDisplayed(WebDriver driver, String xpathLocator) {
-		return getElement(driver, xpathLocator).isDisplayed();
+		return readElement(driver, xpathLocator, WebElement::isDisplayed);
 	}
 	
 	public boolean isElementDisplayed(WebDriver driver, String xpathLocator, String...params) {
-		return getElement(driver, getDynamicLocator(xpathLocator, params)).isDisplayed();
+		return readElement(driver, getDynamicLocator(xpathLocator, params), WebElement::isDisplayed);
 	}
 	
+	/**
+	 * Check the element to be absent or hidden right now, without waiting for it
+	 * @param driver
+	 * @param xpathLocator of the element
+	 * @return true/false
+	 */
 	public boolean isElementUndisplayed(WebDriver driver, String xpathLocator) {
-		overideImplicitTimeout(driver,GlobalConstants.SHORT_TIMEOUT);
-		List<WebElement> elements = getListElement(driver, xpathLocator);
-		overideImplicitTimeout(driver,GlobalConstants.LONG_TIMEOUT);
-		if(elements.size()==0) {
-			return true;
-		}
-		else if(elements.size()>0 && (!elements.get(0).isDisplayed())) {
+		List<WebElement> elements = getListElementNow(driver, xpathLocator);
+		try {
+			return elements.isEmpty() || !elements.get(0).isDisplayed();
+		} catch (StaleElementReferenceException e) {
 			return true;
 		}
-		else {
-			return false;
-		}
+	}
+	
+	public boolean isElementUndisplayed(WebDriver driver, String xpathLocator, String...params) {
+		return isElementUndisplayed(driver, getDynamicLocator(xpathLocator, params));
 	}
 	
 	public void overideImplicitTimeout(WebDriver driver, int timeouts) {
@@ -469,7 +693,7 @@ public class BasePage {
 	 * @return true/false
 	 */
 	public boolean isElementSelected(WebDriver driver, String xpathLocator) {
-		return getElement(driver, xpathLocator).isSelected();
+		return readElement(driver, xpathLocator, WebElement::isSelected);
 	}
 	
 	/**
@@ -477,6 +701,7 @@ public class BasePage {
 	 * @param driver
 	 */
 	public void switchToDefaultContent(WebDriver driver) {
+		elementCache.invalidate();
 		driver.switchTo().defaultContent();
 	}
 	
@@ -516,6 +741,7 @@ public class BasePage {
 	 * @return result after script running (can be void, text, number...)
 	 */
 	public Object executeForBrowser(WebDriver driver, String javaScript) {
+		elementCache.invalidate();
 		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
 		return jsExecutor.executeScript(javaScript);
 	}
@@ -557,6 +783,7 @@ public class BasePage {
 	 * @param driver
 	 */
 	public void scrollToBottomPage(WebDriver driver) {
+		elementCache.invalidate();
 		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
 		jsExecutor.executeScript("window.scrollBy(0,document.body.scrollHeight)");
 	}
@@ -567,6 +794,7 @@ public class BasePage {
 	 * @param url of the landed page
 	 */
 	public void navigateToUrlByJS(WebDriver driver, String url) {
+		elementCache.invalidate();
 		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
 		jsExecutor.executeScript("window.location = '" + url + "'");
 	}
@@ -631,30 +859,30 @@ public class BasePage {
 	 * check that all jquery and javascript in the page are loaded fully
 	 * @param driver
 	 * @return true/false
+	 * @deprecated also blind to fetch requests and timers, use {@link #waitForPageQuiet(WebDriver)}
 	 */
+	@Deprecated
 	public boolean areJQueryAndJSLoadedSuccess(WebDriver driver) {
-		WebDriverWait explicitWait = new WebDriverWait(driver, GlobalConstants.LONG_TIMEOUT);
-		JavascriptExecutor jsExecutor = (JavascriptExecutor) driver;
-
-		ExpectedCondition<Boolean> jQueryLoad = new ExpectedCondition<Boolean>() {
-			@Override
-			public Boolean apply(WebDriver driver) {
-				try {
-					return ((Long) jsExecutor.executeScript("return jQuery.active") == 0);
-				} catch (Exception e) {
-					return true;
-				}
-			}
-		};
+		waitForPageQuiet(driver);
+		return true;
+	}
 
-		ExpectedCondition<Boolean> jsLoad = new ExpectedCondition<Boolean>() {
-			@Override
-			public Boolean apply(WebDriver driver) {
-				return jsExecutor.executeScript("return document.readyState").toString().equals("complete");
-			}
-		};
+	/**
+	 * wait for the page to be idle (no XHR/fetch request, short timer, animation or DOM change)
+	 * for GlobalConstants.PAGE_QUIET_MILLIS
+	 * @param driver
+	 */
+	public void waitForPageQuiet(WebDriver driver) {
+		waitForPageQuiet(driver, GlobalConstants.PAGE_QUIET_MILLIS);
+	}
 
-		return explicitWait.until(jQueryLoad) && explicitWait.until(jsLoad);
+	/**
+	 * wait for the page to be idle (no XHR/fetch request, short timer, animation or DOM change)
+	 * @param driver
+	 * @param idleMillis how long the page must stay idle
+	 */
+	public void waitForPageQuiet(WebDriver driver, long idleMillis) {
+		getWaitEngine(driver).untilPageQuiet(idleMillis, GlobalConstants.LONG_TIMEOUT);
 	}
 
 	/**
@@ -690,13 +918,11 @@ public class BasePage {
 	 * @param xpathLocator of the element to wait
 	 */
 	public void waitForElementVisible(WebDriver driver, String xpathLocator) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.visibilityOfElementLocated(getByXpath(xpathLocator)));
+		waitForCondition(driver, "visible:" + xpathLocator, InPageCondition.visible(xpathLocator), ExpectedConditions.visibilityOfElementLocated(getByXpath(xpathLocator)));
 	}
 	
 	public void waitForElementVisible(WebDriver driver, String xpathLocator, String...params) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.visibilityOfElementLocated(getByXpath(getDynamicLocator(xpathLocator, params))));
+		waitForCondition(driver, "visible:" + xpathLocator, InPageCondition.visible(getDynamicLocator(xpathLocator, params)), ExpectedConditions.visibilityOfElementLocated(getByXpath(getDynamicLocator(xpathLocator, params))));
 	}
 	
 	/**
@@ -705,8 +931,7 @@ public class BasePage {
 	 * @param xpathLocator of elements to wait
 	 */
 	public void waitForAllElementsVisible(WebDriver driver, String xpathLocator) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(getByXpath(xpathLocator)));
+		measure("wait all visible", xpathLocator, () -> getWaitEngine(driver).untilAdaptive("allVisible:" + xpathLocator, ExpectedConditions.visibilityOfAllElementsLocatedBy(getByXpath(xpathLocator))));
 	}
 		
 	/**
@@ -715,13 +940,11 @@ public class BasePage {
 	 * @param xpathLocator of the element to wait
 	 */
 	public void waitForElementClickable(WebDriver driver, String xpathLocator) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.elementToBeClickable(getByXpath(xpathLocator)));
+		waitForCondition(driver, "clickable:" + xpathLocator, InPageCondition.clickable(xpathLocator), ExpectedConditions.elementToBeClickable(getByXpath(xpathLocator)));
 	}
 	
 	public void waitForElementClickable(WebDriver driver, String xpathLocator, String...params) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.elementToBeClickable(getByXpath(getDynamicLocator(xpathLocator, params))));
+		waitForCondition(driver, "clickable:" + xpathLocator, InPageCondition.clickable(getDynamicLocator(xpathLocator, params)), ExpectedConditions.elementToBeClickable(getByXpath(getDynamicLocator(xpathLocator, params))));
 	}
 		
 	/**
@@ -730,13 +953,11 @@ public class BasePage {
 	 * @param xpathLocator of the element to wait
 	 */
 	public void waitForElementInvisible(WebDriver driver, String xpathLocator) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.invisibilityOfElementLocated(getByXpath(xpathLocator)));
+		waitForCondition(driver, "invisible:" + xpathLocator, InPageCondition.invisible(xpathLocator), ExpectedConditions.invisibilityOfElementLocated(getByXpath(xpathLocator)));
 	}
 	
 	public void waitForElementInvisible(WebDriver driver, String xpathLocator, String...params) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.invisibilityOfElementLocated(getByXpath(getDynamicLocator(xpathLocator, params))));
+		waitForCondition(driver, "invisible:" + xpathLocator, InPageCondition.invisible(getDynamicLocator(xpathLocator, params)), ExpectedConditions.invisibilityOfElementLocated(getByXpath(getDynamicLocator(xpathLocator, params))));
 	}
 	
 	/**
@@ -745,8 +966,8 @@ public class BasePage {
 	 * @param xpathLocator of elements to wait
 	 */
 	public void waitForAllElementsInvisible(WebDriver driver, String xpathLocator) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.invisibilityOfAllElements(getListElement(driver, xpathLocator)));
+		List<WebElement> elements = getListElementNow(driver, xpathLocator);
+		measure("wait all invisible", xpathLocator, () -> getWaitEngine(driver).until(ExpectedConditions.invisibilityOfAllElements(elements)));
 	}
 	
 	/**
@@ -755,19 +976,196 @@ public class BasePage {
 	 * @param xpathLocator of elements to wait
 	 */
 	public void waitForAllElementsToBePresenced(WebDriver driver, String xpathLocator) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(getByXpath(xpathLocator)));
+		measure("wait all present", xpathLocator, () -> getWaitEngine(driver).untilAdaptive("allPresent:" + xpathLocator, ExpectedConditions.presenceOfAllElementsLocatedBy(getByXpath(xpathLocator))));
 	}
 	
 	
 	public boolean waitForStaleness(WebDriver driver, String xpathLocator) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		return wait.until(ExpectedConditions.stalenessOf(driver.findElement(getByXpath(xpathLocator))));
+		WebElement element = getElement(driver, xpathLocator);
+		return measure("wait stale", xpathLocator, () -> waitForStaleness(driver, element));
 	}
 	
 	public boolean waitForStaleness(WebDriver driver, String xpathLocator, String...params) {
-		WebDriverWait wait = new WebDriverWait(driver,GlobalConstants.LONG_TIMEOUT);
-		return wait.until(ExpectedConditions.stalenessOf(driver.findElement(getByXpath(getDynamicLocator(xpathLocator, params)))));
+		WebElement element = getElement(driver, getDynamicLocator(xpathLocator, params));
+		return measure("wait stale", xpathLocator, () -> waitForStaleness(driver, element));
+	}
+	
+	private boolean waitForStaleness(WebDriver driver, WebElement element) {
+		if (WaitEngine.isEventMode()) {
+			getWaitEngine(driver).untilInPage(GlobalConstants.LONG_TIMEOUT, InPageCondition.stale(element));
+			return true;
+		}
+		return getWaitEngine(driver).until(ExpectedConditions.stalenessOf(element));
+	}
+	
+	/**
+	 * wait with a MutationObserver in the page (-Dwait.mode=event, the default)
+	 * or with adaptive polling through WebDriver (-Dwait.mode=poll)
+	 */
+	private Object waitForCondition(WebDriver driver, String waitKey, InPageCondition eventCondition, ExpectedCondition<?> pollingCondition) {
+		int separator = waitKey.indexOf(':');
+		return measure("wait " + waitKey.substring(0, separator), waitKey.substring(separator + 1), () -> {
+			if (WaitEngine.isEventMode()) {
+				return getWaitEngine(driver).untilInPage(GlobalConstants.LONG_TIMEOUT, eventCondition);
+			}
+			return getWaitEngine(driver).untilAdaptive(waitKey, pollingCondition);
+		});
+	}
+	
+	/**
+	 * run a wait or find and record its latency for the locator in LocatorTelemetry, only the outermost
+	 * measure of the thread is recorded so e.g. "read all" is not counted again as its inner "find all"
+	 */
+	private <T> T measure(String operation, String xpathLocator, Supplier<T> action) {
+		if (!LocatorTelemetry.isEnabled()) {
+			return action.get();
+		}
+		int[] depth = measureDepth.get();
+		if (depth[0] > 0) {
+			return action.get();
+		}
+		depth[0]++;
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			T value = action.get();
+			failed = false;
+			return value;
+		} finally {
+			depth[0]--;
+			LocatorTelemetry.getTelemetry().record(xpathLocator, operation, System.nanoTime() - start, failed);
+		}
+	}
+	
+	/**
+	 * wait for anything in the subtree of the element to change (children, attributes, text)
+	 * @param driver
+	 * @param xpathLocator of the element to watch
+	 */
+	public void waitForElementChanged(WebDriver driver, String xpathLocator) {
+		waitInPage(driver, InPageCondition.changed(xpathLocator));
+	}
+	
+	/**
+	 * wait for all conditions with one script evaluated inside the browser, e.g.
+	 * waitInPage(driver, InPageCondition.clickable(locator), InPageCondition.textPresent(locator, text))
+	 * @param driver
+	 * @param conditions conditions which must all be met
+	 * @return element of the first condition
+	 */
+	public WebElement waitInPage(WebDriver driver, InPageCondition... conditions) {
+		String xpathLocator = conditions.length == 0 ? null : (String) conditions[0].toSpec().get("xpath");
+		return measure("wait in page", xpathLocator, () -> getWaitEngine(driver).untilInPage(GlobalConstants.LONG_TIMEOUT, conditions));
+	}
+	
+	/**
+	 * wait for the element to contain the text
+	 * @param driver
+	 * @param xpathLocator of the element to wait
+	 * @param text expected text
+	 */
+	public void waitForElementTextPresent(WebDriver driver, String xpathLocator, String text) {
+		waitInPage(driver, InPageCondition.textPresent(xpathLocator, text));
+	}
+	
+	/**
+	 * wait for at least count elements to be presence
+	 * @param driver
+	 * @param xpathLocator of elements to wait
+	 * @param count minimum number of elements
+	 */
+	public void waitForElementCountAtLeast(WebDriver driver, String xpathLocator, int count) {
+		waitInPage(driver, InPageCondition.countAtLeast(xpathLocator, count));
+	}
+	
+	/**
+	 * wait for the attribute of the element to have the value
+	 * @param driver
+	 * @param xpathLocator of the element to wait
+	 * @param attributeName name of the attribute
+	 * @param value expected value
+	 */
+	public void waitForElementAttribute(WebDriver driver, String xpathLocator, String attributeName, String value) {
+		waitInPage(driver, InPageCondition.attributeEquals(xpathLocator, attributeName, value));
+	}
+	
+	/**
+	 * wait for the element to display then clear it and type the value, with one lookup of the element
+	 * @param driver
+	 * @param xpathLocator of the element
+	 * @param input value inputed into the element
+	 */
+	public void visibleThenType(WebDriver driver, String xpathLocator, String input) {
+		actOnElement(driver, "visible:" + xpathLocator, xpathLocator, element -> {
+			element.clear();
+			element.sendKeys(input);
+			return null;
+		});
+	}
+	
+	public void visibleThenType(WebDriver driver, String xpathLocator, String input, String...params) {
+		actOnElement(driver, "visible:" + xpathLocator, getDynamicLocator(xpathLocator, params), element -> {
+			element.clear();
+			element.sendKeys(input);
+			return null;
+		});
+	}
+	
+	/**
+	 * wait for the element to be clickable then click it, with one lookup of the element
+	 * @param driver
+	 * @param xpathLocator of the element
+	 */
+	public void clickableThenClick(WebDriver driver, String xpathLocator) {
+		actOnElement(driver, "clickable:" + xpathLocator, xpathLocator, element -> {
+			element.click();
+			return null;
+		});
+	}
+	
+	public void clickableThenClick(WebDriver driver, String xpathLocator, String...params) {
+		actOnElement(driver, "clickable:" + xpathLocator, getDynamicLocator(xpathLocator, params), element -> {
+			element.click();
+			return null;
+		});
+	}
+	
+	/**
+	 * wait for the element to display then get its text, with one lookup of the element
+	 * @param driver
+	 * @param xpathLocator of the element
+	 * @return text of the element
+	 */
+	public String visibleThenRead(WebDriver driver, String xpathLocator) {
+		return actOnElement(driver, "visible:" + xpathLocator, xpathLocator, WebElement::getText);
+	}
+	
+	public String visibleThenRead(WebDriver driver, String xpathLocator, String...params) {
+		return actOnElement(driver, "visible:" + xpathLocator, getDynamicLocator(xpathLocator, params), WebElement::getText);
+	}
+	
+	/**
+	 * wait for the element and act on the handle returned by the wait,
+	 * the element is waited for again only when the page replaced it (StaleElementReferenceException)
+	 * @param waitKey "visible:" or "clickable:" with the locator template
+	 * @param xpathLocator rendered locator of the element
+	 */
+	private <T> T actOnElement(WebDriver driver, String waitKey, String xpathLocator, Function<WebElement, T> action) {
+		elementCache.invalidate();
+		boolean clickable = waitKey.startsWith("clickable:");
+		for (int attempt = 1; ; attempt++) {
+			Object found = clickable
+					? waitForCondition(driver, waitKey, InPageCondition.clickable(xpathLocator), ExpectedConditions.elementToBeClickable(getByXpath(xpathLocator)))
+					: waitForCondition(driver, waitKey, InPageCondition.visible(xpathLocator), ExpectedConditions.visibilityOfElementLocated(getByXpath(xpathLocator)));
+			WebElement element = found instanceof WebElement ? (WebElement) found : getElement(driver, xpathLocator);
+			try {
+				return action.apply(element);
+			} catch (StaleElementReferenceException e) {
+				if (attempt >= 3) {
+					throw e;
+				}
+			}
+		}
 	}
 	
 	public String getMultipleFileNames(String... fileNames) {
@@ -780,100 +1178,37 @@ public class BasePage {
 	}
 	
 	public boolean isDataStringSortedAscending(WebDriver driver, String xpathLocator) {
-		List<WebElement> elementList = getListElement(driver, xpathLocator);
-		ArrayList<String> arrayList = new ArrayList<>();
-		for (WebElement element: elementList) {
-			arrayList.add(element.getText());
-		}
-		
-		ArrayList<String> sortedList = new ArrayList<>();
-		sortedList.addAll(arrayList);
-		Collections.sort(sortedList);
-		return arrayList.equals(sortedList);
+		return isSorted(xpathLocator, SortVerifier.getVerifier().checkStrings(getElementTexts(driver, xpathLocator), SortVerifier.Order.ASCENDING));
 	}
 	
 	public boolean isDataStringSortedDescending(WebDriver driver, String xpathLocator) {
-		List<WebElement> elementList = getListElement(driver, xpathLocator);
-		ArrayList<String> arrayList = new ArrayList<>();
-		for (WebElement element: elementList) {
-			arrayList.add(element.getText());
-		}
-		
-		ArrayList<String> sortedList = new ArrayList<>();
-		sortedList.addAll(arrayList);
-		Collections.sort(sortedList);
-		Collections.reverse(sortedList);
-		return arrayList.equals(sortedList);
+		return isSorted(xpathLocator, SortVerifier.getVerifier().checkStrings(getElementTexts(driver, xpathLocator), SortVerifier.Order.DESCENDING));
 	}
 	
 	public boolean isDataFloatSortedAscending(WebDriver driver, String xpathLocator) {
-		List<WebElement> elementList = getListElement(driver, xpathLocator);
-		ArrayList<Float> arrayList = new ArrayList<>();
-		for (WebElement element: elementList) {
-			String str = element.getText().replaceAll("[^\\d.-]", "");
-			arrayList.add(Float.parseFloat(str));
-		}
-		
-		ArrayList<Float> sortedList = new ArrayList<>();
-		sortedList.addAll(arrayList);
-		Collections.sort(sortedList);
-		return arrayList.equals(sortedList);
+		return isSorted(xpathLocator, SortVerifier.getVerifier().checkNumbers(getElementTexts(driver, xpathLocator), SortVerifier.Order.ASCENDING));
 	}
 	
 	public boolean isDataFloatSortedDescending(WebDriver driver, String xpathLocator) {
-		List<WebElement> elementList = getListElement(driver, xpathLocator);
-		ArrayList<Float> arrayList = new ArrayList<>();
-		for (WebElement element: elementList) {
-			String str = element.getText().replaceAll("[^\\d.-]", "");
-			arrayList.add(Float.parseFloat(str));
-		}
-		
-		ArrayList<Float> sortedList = new ArrayList<>();
-		sortedList.addAll(arrayList);
-		Collections.sort(sortedList);
-		Collections.reverse(sortedList);
-		return arrayList.equals(sortedList);
+		return isSorted(xpathLocator, SortVerifier.getVerifier().checkNumbers(getElementTexts(driver, xpathLocator), SortVerifier.Order.DESCENDING));
 	}
 	
 	public boolean isDataDateSortedAscending(WebDriver driver, String xpathLocator) {
-		List<WebElement> elementList = getListElement(driver, xpathLocator);
-		ArrayList<Date> arrayList = new ArrayList<>();
-		for (WebElement element: elementList) {
-			arrayList.add(convertStringToDate(element.getText()));
-		}
-		
-		ArrayList<Date> sortedList = new ArrayList<>();
-		sortedList.addAll(arrayList);
-		Collections.sort(sortedList);
-		return arrayList.equals(sortedList);
+		return isSorted(xpathLocator, SortVerifier.getVerifier().checkDates(getElementTexts(driver, xpathLocator), SortVerifier.Order.ASCENDING));
 	}
 	
-
 	public boolean isDataDateSortedDescending(WebDriver driver, String xpathLocator) {
-		List<WebElement> elementList = getListElement(driver, xpathLocator);
-		ArrayList<Date> arrayList = new ArrayList<>();
-		for (WebElement element: elementList) {
-			arrayList.add(convertStringToDate(element.getText()));
-		}
-		
-		ArrayList<Date> sortedList = new ArrayList<>();
-		sortedList.addAll(arrayList);
-		Collections.sort(sortedList);
-		Collections.reverse(sortedList);
-		return arrayList.equals(sortedList);
+		return isSorted(xpathLocator, SortVerifier.getVerifier().checkDates(getElementTexts(driver, xpathLocator), SortVerifier.Order.DESCENDING));
 	}
 	
-	private Date convertStringToDate(String dateString) {
-		dateString = dateString.replaceAll("[^\\d]", "");
-		SimpleDateFormat formatter = new SimpleDateFormat("MMM dd yyyy");
-		Date date = null;
-		try {
-			date = formatter.parse(dateString);
-		}
-		catch (ParseException e){
-			e.printStackTrace();
+	/**
+	 * log where the order breaks, the boolean alone does not tell which row is wrong
+	 */
+	private boolean isSorted(String xpathLocator, SortVerifier.SortResult result) {
+		if (!result.isSorted()) {
+			log.info(xpathLocator + ": " + result);
 		}
-		return date;
+		return result.isSorted();
 	}
 	
 	/**
@@ -899,81 +1234,94 @@ public class BasePage {
 	 * @param timeoutInSecond waiting time in second
 	 */	
 	public void sleepInSecond(int timeoutInSecond){
+		long start = System.currentTimeMillis();
 		try {
 			Thread.sleep(timeoutInSecond*1000);
 		} catch (InterruptedException e) {
 			e.printStackTrace();
 		}
+		HardWaitReport.getReport().record("sleepInSecond", System.currentTimeMillis() - start);
+		TestBudget.charge("sleepInSecond(" + timeoutInSecond + ")", System.currentTimeMillis() - start);
+	}
+	
+	/**
+	 * wait for the element to stop moving and resizing, used instead of a sleep after scrolling or animations
+	 * @param driver
+	 * @param xpathLocator of the element
+	 * @return true when stable, false when GlobalConstants.SHORT_TIMEOUT was reached first
+	 */
+	public boolean waitForElementStable(WebDriver driver, String xpathLocator) {
+		WebElement element = getElement(driver, xpathLocator);
+		return measure("wait stable", xpathLocator, () -> waitForElementStable(driver, element));
+	}
+	
+	/**
+	 * wait for the element to stop moving and resizing for GlobalConstants.STABLE_MILLIS,
+	 * never longer than GlobalConstants.SHORT_TIMEOUT
+	 * @param driver
+	 * @param element element to watch
+	 * @return true when stable, false when the maximum was reached first
+	 */
+	public boolean waitForElementStable(WebDriver driver, WebElement element) {
+		return getWaitEngine(driver).untilStable(element, GlobalConstants.STABLE_MILLIS, TimeUnit.SECONDS.toMillis(GlobalConstants.SHORT_TIMEOUT));
 	}
 	
 	public void openFooterPageByName(WebDriver driver, String pageName) {
-		waitForElementClickable(driver, UserBasePageUI.DYNAMIC_PAGE_FOOTER, pageName);
-		clickElement(driver, UserBasePageUI.DYNAMIC_PAGE_FOOTER, pageName);
+		clickableThenClick(driver, UserBasePageUI.DYNAMIC_PAGE_FOOTER, pageName);
 	}
 	
 	public UserCustomerInfoPageObject openCustomerInfoPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.CUSTOMER_INFO_LINK);
-		clickElement(driver, UserBasePageUI.CUSTOMER_INFO_LINK);
+		clickableThenClick(driver, UserBasePageUI.CUSTOMER_INFO_LINK);
 		return PageGeneratorManager.getPageGenerator().getPageGenerator().getUserCustomerInfoPage(driver);
 	}
 	
 	public UserAddressPageObject openAddressPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.ADDRESS_LINK);
-		clickElement(driver, UserBasePageUI.ADDRESS_LINK);
+		clickableThenClick(driver, UserBasePageUI.ADDRESS_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserAddressPage(driver);
 	}
 	
 	public UserOrderPageObject openOrderPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.ORDER_LINK);
-		clickElement(driver, UserBasePageUI.ORDER_LINK);
+		clickableThenClick(driver, UserBasePageUI.ORDER_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserOrderPage(driver);
 	}
 	
 	public UserDownloadableProductPageObject openDownloadableProductPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.DOWNLOADABLE_PRODUCTS_LINK);
-		clickElement(driver, UserBasePageUI.DOWNLOADABLE_PRODUCTS_LINK);
+		clickableThenClick(driver, UserBasePageUI.DOWNLOADABLE_PRODUCTS_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserDownloadableProductPage(driver);
 	}
 	
 	public UserBackInStockSubscriptionPageObject openBackInStockSubscriptionPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.BACK_IN_STOCK_SUBSCRIPTION_LINK);
-		clickElement(driver, UserBasePageUI.BACK_IN_STOCK_SUBSCRIPTION_LINK);
+		clickableThenClick(driver, UserBasePageUI.BACK_IN_STOCK_SUBSCRIPTION_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserBackInStockSubscriptionPage(driver);
 	}
 	
 	public UserRewardPointPageObject openRewardPointPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.REWARD_POINT_LINK);
-		clickElement(driver, UserBasePageUI.REWARD_POINT_LINK);
+		clickableThenClick(driver, UserBasePageUI.REWARD_POINT_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserRewardPointPage(driver);
 	}
 	
 	public UserChangePasswordPageObject openChangePasswordPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.CHANGE_PASSWORD_LINK);
-		clickElement(driver, UserBasePageUI.CHANGE_PASSWORD_LINK);
+		clickableThenClick(driver, UserBasePageUI.CHANGE_PASSWORD_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserChangePasswordPage(driver);
 	}
 	
 	public UserMyProductReviewPageObject openMyReviewPage(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.MY_PRODUCT_REVIEW_LINK);
-		clickElement(driver, UserBasePageUI.MY_PRODUCT_REVIEW_LINK);
+		clickableThenClick(driver, UserBasePageUI.MY_PRODUCT_REVIEW_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserMyProductReviewPage(driver);
 	}
 	
 	public UserCustomerInfoPageObject clickMyAccountLink(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.MY_ACCOUNT_LINK);
-		clickElement(driver, UserBasePageUI.MY_ACCOUNT_LINK);
+		clickableThenClick(driver, UserBasePageUI.MY_ACCOUNT_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserCustomerInfoPage(driver);
 	}
 	
 	public UserHomePageObject clickUserLogOutLink(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.LOGOUT_LINK_AT_USER);
-		clickElement(driver, UserBasePageUI.LOGOUT_LINK_AT_USER);
+		clickableThenClick(driver, UserBasePageUI.LOGOUT_LINK_AT_USER);
 		return PageGeneratorManager.getPageGenerator().getUserHomePage(driver);
 	}
 	
 	public AdminLoginPageObject clickAdminLogOutLink(WebDriver driver) {
-		waitForElementClickable(driver, UserBasePageUI.LOGOUT_LINK_AT_ADMIN);
-		clickElement(driver, UserBasePageUI.LOGOUT_LINK_AT_ADMIN);
+		clickableThenClick(driver, UserBasePageUI.LOGOUT_LINK_AT_ADMIN);
 		return PageGeneratorManager.getPageGenerator().getAdminLoginPage(driver);
 	}
 	
@@ -988,18 +1336,15 @@ public class BasePage {
 	}
 	
 	public void clickAdminSideMenuItem(WebDriver driver, String item) {
-		waitForElementClickable(driver, AdminBasePageUI.DYNAMIC_SIDE_MENU_ITEM, item);
-		clickElement(driver, AdminBasePageUI.DYNAMIC_SIDE_MENU_ITEM, item);
+		clickableThenClick(driver, AdminBasePageUI.DYNAMIC_SIDE_MENU_ITEM, item);
 	}
 	
 	public void clickAdminSideMenuSubItem(WebDriver driver, String item) {
-		waitForElementClickable(driver, AdminBasePageUI.DYNAMIC_SIDE_SUB_MENU_ITEM, item);
-		clickElement(driver, AdminBasePageUI.DYNAMIC_SIDE_SUB_MENU_ITEM, item);
+		clickableThenClick(driver, AdminBasePageUI.DYNAMIC_SIDE_SUB_MENU_ITEM, item);
 	}
 	
 	public void inputToTextboxByID(WebDriver driver, String textbox_id, String value) {
-		waitForElementVisible(driver, UserBasePageUI.DYNAMIC_TEXTBOX_BY_ID,textbox_id);
-		inputIntoElement(driver, UserBasePageUI.DYNAMIC_TEXTBOX_BY_ID, value, textbox_id);
+		visibleThenType(driver, UserBasePageUI.DYNAMIC_TEXTBOX_BY_ID, value, textbox_id);
 	}
 	
 	public void selectDropdownListByName(WebDriver driver, String dropdown_name, String value) {
@@ -1,8 +1,7 @@
 package commons;
 
 import java.io.File;
-import java.io.IOException;
-import java.net.URL;
+import java.lang.reflect.Method;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.concurrent.TimeUnit;
@@ -15,27 +14,38 @@ import org.openqa.selenium.Platform;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
-import org.openqa.selenium.opera.OperaDriver;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.remote.DesiredCapabilities;
-import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.safari.SafariOptions;
 import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
 import org.testng.Reporter;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import factoryBrowser.BrowserPool;
+import factoryBrowser.BrowserProfile;
+import factoryBrowser.DriverProcessTracker;
+import factoryBrowser.GridScheduler;
+import factoryBrowser.IsolatedContext;
+import factoryBrowser.IsolatedContexts;
+import factoryBrowser.LocalFactory;
+import factoryBrowser.SessionRecycler;
 
 public class BaseTest {
-	private WebDriver driver;
 	protected String projectPath = System.getProperty("user.dir");
 	private String screenShotLocation = projectPath+File.separator+"extentReportScrShoot"+File.separator;
-	private String chromeVersion = "93.0.4577.63";
 	protected String userUrl,adminUrl;
 	protected final Log log;
 	
@@ -49,45 +59,85 @@ public class BaseTest {
 		deleteAllFileInFolder("extentReportScrShoot");
 		deleteAllFileInFolder("allure-json");
 		System.out.println("---------- END delete file in folder ----------");
+		
+		PropertiesConfig.getConfig().reload();
+		String warmUpBrowsers = PropertiesConfig.getConfig().getString("browser.pool.warmup");
+		if (warmUpBrowsers != null) {
+			for (String browserName : warmUpBrowsers.split(",")) {
+				log.info("Warm up browser pool " + browserName.trim());
+				BrowserPool.getPool(browserName.trim(), getSuiteProfile()).warmUp();
+			}
+		}
 	}
 	
 	@AfterSuite(alwaysRun = true)
 	protected void cleanExecutableDriver() {
 		log.info("Close all drivers after suite");
+		log.info("Explicit waits: " + WaitEngine.getSuiteStats());
+		log.info("Element cache: " + ElementCache.getSuiteStats());
+		LocatorLatencyStats.getStats().save();
+		HardWaitReport.getReport().save();
+		LocatorTelemetry.getTelemetry().save();
 		closeBrowserAndDriver();
+		SessionRecycler.getRecycler().shutdownAll();
+		IsolatedContexts.getContexts().shutdownAll();
+		for (WebDriver driver : DriverRegistry.getRegistry().releaseAll()) {
+			quitDriver(driver);
+		}
+		BrowserPool.shutdownAll();
+		// After the framework's own teardown, so registered drivers and idle pool browsers are not reported
+		for (String leak : DriverProcessTracker.getTracker().findLeaks()) {
+			log.info("Leaked driver: " + leak);
+		}
+		DriverProcessTracker.getTracker().terminateAll(GlobalConstants.SHORT_TIMEOUT);
 	}
 	
+	/**
+	 * Get the driver leased to this test instance on the current thread
+	 * @return driver or null if the test holds no driver
+	 */
 	public WebDriver getWebdriver() {
-		return this.driver;
+		return DriverRegistry.getRegistry().getDriver(this);
+	}
+	
+	private WebDriver leaseDriver(WebDriver driver) {
+		return DriverRegistry.getRegistry().lease(this, driver);
 	}
 	
 	protected WebDriver getLocalBrowserDriver(String browserName) {
+		WebDriver driver;
 		if (browserName.equals("chrome")){
 			System.setProperty("webdriver.chrome.driver", projectPath+File.separator+"driverBrowsers"+File.separator+"chromedriver.exe");
-			driver = new ChromeDriver();
+			ChromeDriverService service = ChromeDriverService.createDefaultService();
+			driver = DriverProcessTracker.getTracker().track(new ChromeDriver(service), service);
 		}
 		else if (browserName.equals("firefox")){
 			System.setProperty("webdriver.gecko.driver", projectPath+File.separator+"driverBrowsers"+File.separator+"geckodriver.exe");
-			driver = new FirefoxDriver();
+			GeckoDriverService service = GeckoDriverService.createDefaultService();
+			driver = DriverProcessTracker.getTracker().track(new FirefoxDriver(service), service);
 		}
 		else if (browserName.equals("edge")){
 			System.setProperty("webdriver.edge.driver", projectPath+File.separator+"driverBrowsers"+File.separator+"msedgedriver.exe");
-			driver = new EdgeDriver();
+			EdgeDriverService service = EdgeDriverService.createDefaultService();
+			driver = DriverProcessTracker.getTracker().track(new EdgeDriver(service), service);
 		}
 		else {
 			throw new RuntimeException("Browser name invalid");
 		}
-		driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
+		leaseDriver(driver);
+		applyImplicitWait(driver);
 		driver.manage().window().maximize();
 		return driver;
 	}
 	protected WebDriver getHeadlessBrowserDriver(String browserName) {
+		WebDriver driver;
 		if (browserName.equals("chrome")){
 			System.setProperty("webdriver.chrome.driver", projectPath+File.separator+"driverBrowsers"+File.separator+"chromedriver.exe");
 			ChromeOptions option = new ChromeOptions();
 			option.addArguments("headless");
 			option.addArguments("window-size-1440x900");
-			driver = new ChromeDriver(option);
+			ChromeDriverService service = ChromeDriverService.createDefaultService();
+			driver = DriverProcessTracker.getTracker().track(new ChromeDriver(service, option), service);
 		}
 		
 		else if (browserName.equals("firefox")){
@@ -95,55 +145,216 @@ public class BaseTest {
 			FirefoxOptions option = new FirefoxOptions();
 			option.addArguments("-headless");
 			option.addArguments("window-size-1440x900");
-			driver = new FirefoxDriver(option);
+			GeckoDriverService service = GeckoDriverService.createDefaultService();
+			driver = DriverProcessTracker.getTracker().track(new FirefoxDriver(service, option), service);
 		}
 		
 		else {
 			throw new RuntimeException("Browser name invalid");
 		}
 		
-		driver.manage().timeouts().implicitlyWait(10, TimeUnit.SECONDS);
+		leaseDriver(driver);
+		applyImplicitWait(driver);
 		driver.manage().window().maximize();
 		return driver;
 	}
 	protected WebDriver getBrowserDriver(String browserName, String url) {
-		if (browserName.equals("chrome")){
-			WebDriverManager.chromedriver().setup();
-			driver = new ChromeDriver();
+		if (isContextIsolation()) {
+			return getIsolatedBrowserDriver(browserName, url);
 		}
-		
-		else if (browserName.equals("firefox")){
-			WebDriverManager.firefoxdriver().setup();
-			driver = new FirefoxDriver();
+		BrowserProfile profile = getSuiteProfile();
+		WebDriver driver;
+		if (isSessionReuse()) {
+			driver = SessionRecycler.getRecycler().acquire(browserName, profile);
+		} else {
+			driver = new LocalFactory(browserName, profile).createDriver();
 		}
-		
-		else if (browserName.equals("edge")){
-			WebDriverManager.edgedriver().setup();
-			driver = new EdgeDriver();
+		leaseDriver(driver);
+		openUrl(driver, profile, url);
+		return driver;
+	}
+	
+	/**
+	 * Start the browser in the background and open the url as soon as the session is ready,
+	 * so the test can load its data while the browser boots
+	 * @param browserName name of the browser
+	 * @param url page to open
+	 * @return handle to get the driver from when the test needs it
+	 */
+	protected DriverHandle getBrowserDriverAsync(String browserName, String url) {
+		BrowserProfile profile = getSuiteProfile();
+		return DriverHandle.start(this, () -> {
+			WebDriver driver = new LocalFactory(browserName, profile).createDriver();
+			try {
+				openUrl(driver, profile, url);
+			} catch (RuntimeException e) {
+				driver.quit();
+				throw e;
+			}
+			return driver;
+		});
+	}
+	
+	/**
+	 * Open a new isolated browser context (own cookies, storage and cache) in the shared browser of the thread,
+	 * so the test gets a clean user without starting a browser. Browsers without contexts get a recycled session
+	 * @param browserName name of the browser
+	 * @param url page to open
+	 * @return driver of the context, quit() closes the context only
+	 */
+	protected WebDriver getIsolatedBrowserDriver(String browserName, String url) {
+		BrowserProfile profile = getSuiteProfile();
+		WebDriver driver;
+		if (IsolatedContexts.getContexts().supports(browserName)) {
+			driver = IsolatedContexts.getContexts().open(browserName, profile).getDriver();
+		} else {
+			log.info("No isolated browser context for " + browserName + ", use a recycled session");
+			driver = SessionRecycler.getRecycler().acquire(browserName, profile);
 		}
-		else if (browserName.equals("opera")){
-			WebDriverManager.operadriver().setup();
-			driver = new OperaDriver();
+		leaseDriver(driver);
+		openUrl(driver, profile, url);
+		return driver;
+	}
+	
+	/**
+	 * Lease a warm browser from the browser pool instead of starting a new one,
+	 * closeBrowserAndDriver gives it back to the pool with a clean state
+	 * @param browserName name of the browser
+	 * @param url page to open
+	 * @return leased driver
+	 */
+	protected WebDriver getPooledBrowserDriver(String browserName, String url) {
+		BrowserProfile profile = getSuiteProfile();
+		WebDriver driver = new LocalFactory(browserName, profile).leasePooledDriver(GlobalConstants.LONG_TIMEOUT);
+		leaseDriver(driver);
+		openUrl(driver, profile, url);
+		return driver;
+	}
+	
+	/**
+	 * Implicit waits are off unless -Dwait.implicitSeconds is set: BasePage waits explicitly for the
+	 * elements it needs, and an implicit wait stalls every lookup of an element which is expected to be absent
+	 */
+	private void applyImplicitWait(WebDriver driver) {
+		if (GlobalConstants.IMPLICIT_WAIT_SECONDS > 0) {
+			driver.manage().timeouts().implicitlyWait(GlobalConstants.IMPLICIT_WAIT_SECONDS, TimeUnit.SECONDS);
 		}
-		else if (browserName.equals("coc coc")){
-			WebDriverManager.chromedriver().driverVersion(chromeVersion).setup();
-			ChromeOptions options = new ChromeOptions();
-			options.setBinary("C:\\Program Files (x86)\\CocCoc\\Browser\\Application\\browser.exe");
-			driver = new ChromeDriver(options);
+	}
+	
+	private void openUrl(WebDriver driver, BrowserProfile profile, String url) {
+		applyImplicitWait(driver);
+		if (!profile.hasFixedViewport()) {
+			driver.manage().window().maximize();
 		}
-		else {
-			throw new RuntimeException("Browser name invalid");
+		driver.get(url);
+	}
+	
+	/**
+	 * Get the browser profile from the "profile" parameter of the suite XML,
+	 * or from -Dbrowser.profile when the test runs outside of a suite
+	 * @return browser profile
+	 */
+	protected BrowserProfile getSuiteProfile() {
+		return BrowserProfile.fromName(getSuiteParameter("profile", "browser.profile"));
+	}
+	
+	/**
+	 * Session reuse mode, enabled with the "sessionReuse" parameter of the suite XML or -Dbrowser.session.reuse:
+	 * getBrowserDriver keeps one browser per thread across test classes, cleaned between classes
+	 * @return true if sessions are reused
+	 */
+	protected boolean isSessionReuse() {
+		return Boolean.parseBoolean(getSuiteParameter("sessionReuse", "browser.session.reuse"));
+	}
+	
+	/**
+	 * Context isolation mode, enabled with the "contextIsolation" parameter of the suite XML or -Dbrowser.context.isolation:
+	 * getBrowserDriver opens an isolated browser context instead of a new browser
+	 * @return true if tests get isolated contexts
+	 */
+	protected boolean isContextIsolation() {
+		return Boolean.parseBoolean(getSuiteParameter("contextIsolation", "browser.context.isolation"));
+	}
+	
+	private String getSuiteParameter(String parameterName, String propertyName) {
+		ITestResult result = Reporter.getCurrentTestResult();
+		if (result != null && result.getTestContext() != null && result.getTestContext().getCurrentXmlTest() != null) {
+			String suiteValue = result.getTestContext().getCurrentXmlTest().getParameter(parameterName);
+			if (suiteValue != null) {
+				return suiteValue;
+			}
 		}
-		driver.manage().timeouts().implicitlyWait(GlobalConstants.LONG_TIMEOUT, TimeUnit.SECONDS);
+		return PropertiesConfig.getConfig().getString(propertyName);
+	}
+	
+	/**
+	 * Start the time budget of the test: @TimeBudget of the method or class, else the "timeBudget.<group>"
+	 * parameter of the suite XML for a group of the test, else the "timeBudget" parameter or -Dtest.timeBudgetSeconds.
+	 * No budget when none is set
+	 */
+	@BeforeMethod(alwaysRun = true)
+	protected void startTimeBudget(Method method, ITestContext context) {
+		TestBudget.start(getClass().getSimpleName() + "." + method.getName(), getTimeBudgetSeconds(method, context));
+	}
+	
+	@AfterMethod(alwaysRun = true)
+	protected void endTimeBudget(ITestResult result) {
+		TestBudget budget = TestBudget.end();
+		if (budget != null && result.getStatus() == ITestResult.FAILURE) {
+			log.info("Time budget: " + budget.getBreakdown());
+		}
+	}
+	
+	private long getTimeBudgetSeconds(Method method, ITestContext context) {
+		TimeBudget annotation = method.isAnnotationPresent(TimeBudget.class) ? method.getAnnotation(TimeBudget.class) : getClass().getAnnotation(TimeBudget.class);
+		if (annotation != null) {
+			return annotation.seconds();
+		}
+		Test test = method.getAnnotation(Test.class);
+		if (test != null && context.getCurrentXmlTest() != null) {
+			for (String group : test.groups()) {
+				String groupBudget = context.getCurrentXmlTest().getParameter("timeBudget." + group);
+				if (groupBudget != null) {
+					return Long.parseLong(groupBudget.trim());
+				}
+			}
+		}
+		String budget = context.getCurrentXmlTest() == null ? null : context.getCurrentXmlTest().getParameter("timeBudget");
+		return budget == null ? PropertiesConfig.getConfig().getLong("test.timeBudgetSeconds", 0) : Long.parseLong(budget.trim());
+	}
+	
+	@AfterMethod(alwaysRun = true)
+	protected void countTestOnSession() {
+		WebDriver driver = getWebdriver();
+		if (driver != null) {
+			SessionRecycler.getRecycler().recordTest(driver);
+		}
+	}
+	
+	protected WebDriver getBrowserDriver(String browserName, String url, String ipAddress, String portNumber) {
+		return getGridBrowserDriver(browserName, url, ipAddress + ":" + portNumber);
+	}
+	
+	/**
+	 * Create the session on the least loaded of several grid hubs/nodes,
+	 * waiting in queue while every endpoint is full
+	 * @param browserName name of the browser
+	 * @param url page to open
+	 * @param hubList comma separated endpoints, e.g. "192.168.1.114:4444,192.168.1.115:4444"
+	 * @return driver of the remote session
+	 */
+	protected WebDriver getGridBrowserDriver(String browserName, String url, String hubList) {
+		WebDriver driver = GridScheduler.getScheduler(hubList).createSession(getGridCapability(browserName), PropertiesConfig.getConfig().getLong("grid.queue.timeoutSeconds", 300));
+		leaseDriver(driver);
+		applyImplicitWait(driver);
 		driver.manage().window().maximize();
 		driver.get(url);
 		return driver;
 	}
 	
-	protected WebDriver getBrowserDriver(String browserName, String url, String ipAddress, String portNumber) {
+	private DesiredCapabilities getGridCapability(String browserName) {
 		DesiredCapabilities capability = null;
 		if (browserName.equals("chrome")){
-			WebDriverManager.chromedriver().setup();
 			capability = DesiredCapabilities.chrome();
 			capability.setBrowserName(browserName);
 			capability.setPlatform(Platform.WINDOWS);
@@ -153,7 +364,6 @@ public class BaseTest {
 		}
 		
 		else if (browserName.equals("firefox")){
-			WebDriverManager.firefoxdriver().setup();
 			capability = DesiredCapabilities.firefox();
 			capability.setBrowserName(browserName);
 			capability.setPlatform(Platform.WINDOWS);
@@ -163,7 +373,6 @@ public class BaseTest {
 		}
 		
 		else if (browserName.equals("edge")){
-			WebDriverManager.edgedriver().setup();
 			capability = DesiredCapabilities.edge();
 			capability.setBrowserName(browserName);
 			capability.setPlatform(Platform.WINDOWS);
@@ -180,7 +389,6 @@ public class BaseTest {
 			options.merge(capability);
 		}
 		else if (browserName.equals("ie")){
-			WebDriverManager.iedriver().arch32().setup();
 			capability = DesiredCapabilities.internetExplorer();
 			capability.setBrowserName("internetExplorer");
 			capability.setPlatform(Platform.WINDOWS);
@@ -189,16 +397,7 @@ public class BaseTest {
 		else {
 			throw new RuntimeException("Browser name invalid");
 		}
-		try {
-			driver = new RemoteWebDriver(new URL(String.format("http://%s:%s/wd/hub",ipAddress,portNumber)),capability);
-		}
-		catch (Exception e) {
-			e.printStackTrace();
-		}
-		driver.manage().timeouts().implicitlyWait(GlobalConstants.LONG_TIMEOUT, TimeUnit.SECONDS);
-		driver.manage().window().maximize();
-		driver.get(url);
-		return driver;
+		return capability;
 	}
 	
 	protected void setEnvironmentURL(String environment) {
@@ -318,63 +517,50 @@ public class BaseTest {
 	
 	
 	protected void closeBrowserAndDriver() {
-		String cmd = "";
+		WebDriver driver = DriverRegistry.getRegistry().release(this);
+		if (driver == null) {
+			log.info("No driver leased to " + getClass().getSimpleName());
+			return;
+		}
+		if (BrowserPool.getPoolOf(driver) != null) {
+			log.info("Give the browser back to the pool");
+			LocalFactory.releaseDriver(driver);
+			return;
+		}
+		IsolatedContext context = IsolatedContexts.getContexts().getContextOf(driver);
+		if (context != null) {
+			log.info("Close isolated browser context " + context.getContextId());
+			context.close();
+			return;
+		}
+		if (SessionRecycler.getRecycler().isRecycled(driver)) {
+			log.info("Give the browser session back for the next class");
+			SessionRecycler.getRecycler().release(driver);
+			return;
+		}
+		log.info("Driver instance name = " + driver.toString().toLowerCase());
 		try {
-			String osName = System.getProperty("os.name").toLowerCase();
-			log.info("OS name = " + osName);
-
-			String driverInstanceName = driver.toString().toLowerCase();
-			log.info("Driver instance name = " + driverInstanceName);
-
-			if (driverInstanceName.contains("chrome")) {
-				if (osName.contains("window")) {
-					cmd = "taskkill /F /FI \"IMAGENAME eq chromedriver*\"";
-				} else {
-					cmd = "pkill chromedriver";
-				}
-			} else if (driverInstanceName.contains("internetexplorer")) {
-				if (osName.contains("window")) {
-					cmd = "taskkill /F /FI \"IMAGENAME eq IEDriverServer*\"";
-				}
-			} else if (driverInstanceName.contains("firefox")) {
-				if (osName.contains("windows")) {
-					cmd = "taskkill /F /FI \"IMAGENAME eq geckodriver*\"";
-				} else {
-					cmd = "pkill geckodriver";
-				}
-			} else if (driverInstanceName.contains("edge")) {
-				if (osName.contains("window")) {
-					cmd = "taskkill /F /FI \"IMAGENAME eq msedgedriver*\"";
-				} else {
-					cmd = "pkill msedgedriver";
-				}
-			} else if (driverInstanceName.contains("opera")) {
-				if (osName.contains("window")) {
-					cmd = "taskkill /F /FI \"IMAGENAME eq operadriver*\"";
-				} else {
-					cmd = "pkill operadriver";
-				}
-			} else if (driverInstanceName.contains("safari")) {
-				if (osName.contains("mac")) {
-					cmd = "pkill safaridriver";
-				}
-			}
-
-			if (driver != null) {
-				driver.manage().deleteAllCookies();
-				driver.quit();
-			}
+			driver.manage().deleteAllCookies();
+		} catch (Exception e) {
+			log.info(e.getMessage());
+		}
+		quitDriver(driver);
+	}
+	
+	/**
+	 * Quit the driver: local sessions are terminated with their own driver process tree only,
+	 * so sibling parallel sessions keep running
+	 * @param driver driver to quit
+	 */
+	private void quitDriver(WebDriver driver) {
+		if (DriverProcessTracker.getTracker().isTracked(driver)) {
+			DriverProcessTracker.getTracker().terminate(driver, GlobalConstants.SHORT_TIMEOUT);
+			return;
+		}
+		try {
+			driver.quit();
 		} catch (Exception e) {
 			log.info(e.getMessage());
-		} finally {
-			try {
-				Process process = Runtime.getRuntime().exec(cmd);
-				process.waitFor();
-			} catch (IOException e) {
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
 		}
 	}
 	
@@ -0,0 +1,80 @@
+package commons;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Handle of a browser which is starting in the background, so the test can prepare its data
+ * while the browser boots. The driver is leased to the test instance on the thread calling get()
+ */
+public class DriverHandle {
+	private static final AtomicInteger starterCount = new AtomicInteger();
+	private static final ExecutorService starters = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "driver-starter-" + starterCount.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Object owner;
+	private final CompletableFuture<WebDriver> future;
+	private volatile boolean cancelled;
+
+	private DriverHandle(Object owner, CompletableFuture<WebDriver> future) {
+		this.owner = owner;
+		this.future = future;
+	}
+
+	/**
+	 * Start the browser on a background thread
+	 * @param owner test instance which will use the driver
+	 * @param driverStarter creates the driver and opens the first page
+	 * @return handle of the starting driver
+	 */
+	public static DriverHandle start(Object owner, Supplier<WebDriver> driverStarter) {
+		DriverHandle handle = new DriverHandle(owner, CompletableFuture.supplyAsync(driverStarter, starters));
+		handle.future.thenAccept(driver -> {
+			if (handle.cancelled) {
+				driver.quit();
+			}
+		});
+		return handle;
+	}
+
+	public boolean isReady() {
+		return future.isDone() && !future.isCompletedExceptionally();
+	}
+
+	/**
+	 * Wait for the browser to be ready and lease it to the test instance on the current thread
+	 * @return started driver
+	 */
+	public WebDriver get() {
+		if (cancelled) {
+			throw new IllegalStateException("Driver start was cancelled");
+		}
+		try {
+			return DriverRegistry.getRegistry().lease(owner, future.join());
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Give up the driver, it is quit as soon as it finishes starting
+	 */
+	public void cancel() {
+		cancelled = true;
+		if (future.isDone() && !future.isCompletedExceptionally()) {
+			future.join().quit();
+		}
+	}
+}
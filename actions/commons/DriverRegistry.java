@@ -0,0 +1,108 @@
+package commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Keep track of which driver belongs to which test instance and thread, so parallel
+ * suites (parallel="methods"/"classes"/"tests") never share or overwrite a driver
+ */
+public class DriverRegistry {
+	private static final DriverRegistry registry = new DriverRegistry();
+	private final Map<Object, Map<Long, WebDriver>> leases = new ConcurrentHashMap<>();
+
+	private DriverRegistry() {
+	}
+
+	public static DriverRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * Lease the driver to the test instance on the current thread
+	 * (a driver previously leased on the same thread is replaced)
+	 * @param owner test instance using the driver
+	 * @param driver driver to lease
+	 * @return the driver leased
+	 */
+	public WebDriver lease(Object owner, WebDriver driver) {
+		if (driver == null) {
+			throw new IllegalArgumentException("Cannot lease a null driver to " + owner.getClass().getSimpleName());
+		}
+		long threadId = currentThreadId();
+		leases.compute(owner, (key, ownerLeases) -> {
+			Map<Long, WebDriver> updatedLeases = ownerLeases == null ? new ConcurrentHashMap<>() : ownerLeases;
+			updatedLeases.put(threadId, driver);
+			return updatedLeases;
+		});
+		return driver;
+	}
+
+	/**
+	 * Get the driver of the test instance: the one leased on the current thread first,
+	 * then any driver leased by the instance (listeners may run on another thread)
+	 * @param owner test instance using the driver
+	 * @return driver or null if the instance holds no driver
+	 */
+	public WebDriver getDriver(Object owner) {
+		Map<Long, WebDriver> ownerLeases = leases.get(owner);
+		if (ownerLeases == null || ownerLeases.isEmpty()) {
+			return null;
+		}
+		WebDriver driver = ownerLeases.get(currentThreadId());
+		if (driver != null) {
+			return driver;
+		}
+		return ownerLeases.values().stream().findFirst().orElse(null);
+	}
+
+	/**
+	 * Release the driver leased to the test instance on the current thread
+	 * (falls back to the only driver of the instance when released from another thread)
+	 * @param owner test instance using the driver
+	 * @return the released driver or null if nothing was leased
+	 */
+	public WebDriver release(Object owner) {
+		long threadId = currentThreadId();
+		WebDriver[] released = new WebDriver[1];
+		leases.computeIfPresent(owner, (key, ownerLeases) -> {
+			released[0] = ownerLeases.remove(threadId);
+			if (released[0] == null && ownerLeases.size() == 1) {
+				released[0] = ownerLeases.remove(ownerLeases.keySet().iterator().next());
+			}
+			return ownerLeases.isEmpty() ? null : ownerLeases;
+		});
+		return released[0];
+	}
+
+	/**
+	 * Release every driver still leased, used for clean up at the end of the suite
+	 * @return all drivers which were still leased
+	 */
+	public List<WebDriver> releaseAll() {
+		List<WebDriver> drivers = new ArrayList<>();
+		for (Object owner : leases.keySet()) {
+			Map<Long, WebDriver> ownerLeases = leases.remove(owner);
+			if (ownerLeases != null) {
+				drivers.addAll(ownerLeases.values());
+			}
+		}
+		return drivers;
+	}
+
+	public int getLeasedCount() {
+		int count = 0;
+		for (Map<Long, WebDriver> ownerLeases : leases.values()) {
+			count += ownerLeases.size();
+		}
+		return count;
+	}
+
+	private long currentThreadId() {
+		return Thread.currentThread().getId();
+	}
+}
@@ -0,0 +1,115 @@
+package commons;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Element handles found by the reads of one page object, keyed by the rendered xpath. A handle is reused
+ * until the page object acts on the page or navigates (see BasePage) or until it turns stale, then it is
+ * found again. Hit rate and stale evictions of the suite are logged by BaseTest (disabled with -Delement.cache=false)
+ */
+public class ElementCache {
+	private static final boolean ENABLED = PropertiesConfig.getConfig().getBoolean("element.cache", true);
+	private static final int MAX_CACHED_ELEMENTS = 500;
+	private static final CacheStats suiteStats = new CacheStats();
+
+	private final Map<String, WebElement> elements = new ConcurrentHashMap<>();
+	private volatile WebDriver driver;
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	public static CacheStats getSuiteStats() {
+		return suiteStats;
+	}
+
+	/**
+	 * Read the element with the cached handle, or with a handle found by the finder on a miss or when the cached one is stale
+	 * @param driver driver of the page object
+	 * @param xpathLocator rendered xpath of the element
+	 * @param finder finds the element when it is not cached
+	 * @param reader read done on the element, e.g. WebElement::getText
+	 * @return value read
+	 */
+	public <T> T read(WebDriver driver, String xpathLocator, Function<String, WebElement> finder, Function<WebElement, T> reader) {
+		if (!ENABLED) {
+			return reader.apply(finder.apply(xpathLocator));
+		}
+		if (this.driver != driver) {
+			elements.clear();
+			this.driver = driver;
+		}
+		WebElement element = elements.get(xpathLocator);
+		if (element != null) {
+			try {
+				T value = reader.apply(element);
+				suiteStats.hits.incrementAndGet();
+				return value;
+			} catch (StaleElementReferenceException e) {
+				elements.remove(xpathLocator, element);
+				suiteStats.staleEvictions.incrementAndGet();
+			}
+		}
+		suiteStats.misses.incrementAndGet();
+		element = finder.apply(xpathLocator);
+		T value = reader.apply(element);
+		if (elements.size() < MAX_CACHED_ELEMENTS) {
+			elements.put(xpathLocator, element);
+		}
+		return value;
+	}
+
+	/**
+	 * Drop every handle, called before an action or a navigation which may replace elements of the page
+	 */
+	public void invalidate() {
+		if (!elements.isEmpty()) {
+			elements.clear();
+			suiteStats.invalidations.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Reads served from cached handles, reads which found the element and handles evicted as stale
+	 */
+	public static class CacheStats {
+		private final AtomicLong hits = new AtomicLong();
+		private final AtomicLong misses = new AtomicLong();
+		private final AtomicLong staleEvictions = new AtomicLong();
+		private final AtomicLong invalidations = new AtomicLong();
+
+		public long getHits() {
+			return hits.get();
+		}
+
+		public long getMisses() {
+			return misses.get();
+		}
+
+		public long getStaleEvictions() {
+			return staleEvictions.get();
+		}
+
+		public long getInvalidations() {
+			return invalidations.get();
+		}
+
+		public double getHitRate() {
+			long reads = getHits() + getMisses();
+			return reads == 0 ? 0 : (double) getHits() / reads;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d reads, %.1f%% hits, %d stale evictions, %d invalidations", getHits() + getMisses(), getHitRate() * 100,
+					getStaleEvictions(), getInvalidations());
+		}
+	}
+}
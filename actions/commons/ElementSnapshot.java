@@ -0,0 +1,55 @@
+package commons;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * Text, visibility and attributes of one element, read together with the other matches of the locator
+ * by a single script call (see BasePage.getElementSnapshots)
+ */
+public class ElementSnapshot {
+	private final WebElement element;
+	private final String text;
+	private final boolean displayed;
+	private final Map<String, String> attributes;
+
+	ElementSnapshot(WebElement element, String text, boolean displayed, Map<String, String> attributes) {
+		this.element = element;
+		this.text = text;
+		this.displayed = displayed;
+		this.attributes = attributes == null ? Collections.emptyMap() : attributes;
+	}
+
+	/**
+	 * @return handle of the element, e.g. to click it
+	 */
+	public WebElement getElement() {
+		return element;
+	}
+
+	/**
+	 * @return rendered text of the element, the text content when the element is hidden
+	 */
+	public String getText() {
+		return text;
+	}
+
+	public boolean isDisplayed() {
+		return displayed;
+	}
+
+	/**
+	 * @param attributeName attribute or property read with the snapshot
+	 * @return value like WebElement.getAttribute, null when absent or not read
+	 */
+	public String getAttribute(String attributeName) {
+		return attributes.get(attributeName);
+	}
+
+	@Override
+	public String toString() {
+		return (displayed ? "" : "hidden ") + "\"" + text + "\"" + (attributes.isEmpty() ? "" : " " + attributes);
+	}
+}
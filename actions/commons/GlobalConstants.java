@@ -3,13 +3,16 @@ package commons;
 import java.io.File;
 
 public class GlobalConstants {
-	public static final int SHORT_TIMEOUT=5;
-	public static final int LONG_TIMEOUT=30;
+	public static final int SHORT_TIMEOUT = PropertiesConfig.getConfig().getInt("ShortTimeout", 5);
+	public static final int LONG_TIMEOUT = PropertiesConfig.getConfig().getInt("LongTimeout", 30);
+	public static final long IMPLICIT_WAIT_SECONDS = PropertiesConfig.getConfig().getLong("wait.implicitSeconds", 0);
+	public static final long STABLE_MILLIS = PropertiesConfig.getConfig().getLong("wait.stableMillis", 100);
+	public static final long PAGE_QUIET_MILLIS = PropertiesConfig.getConfig().getLong("wait.quiet.idleMillis", 300);
 	public static final String PROJECT_PATH = System.getProperty("user.dir");
 	public static final String UPLOAD_FOLDER_PATH = System.getProperty("user.dir")+ File.separator+"uploadFile"+ File.separator;
 	public static final String DOWNLOAD_FOLDER_PATH = System.getProperty("user.dir")+ File.separator+"downloadFile"+ File.separator;
-	public static final String USER_PORTAL_PAGE_URL="https://demo.nopcommerce.com";
-	public static final String ADMIN_PAGE_URL="https://admin-demo.nopcommerce.com";
+	public static final String USER_PORTAL_PAGE_URL = PropertiesConfig.getConfig().getString("UserURL", "https://demo.nopcommerce.com");
+	public static final String ADMIN_PAGE_URL = PropertiesConfig.getConfig().getString("AdminURL", "https://admin-demo.nopcommerce.com");
 	public static final String TEST_DATA_PATH =  PROJECT_PATH+File.separator+"testdata"+File.separator;
 	public static final String TEST_DATA_DRIVEN_PATH =  TEST_DATA_PATH+"com"+File.separator+"nopcommerce"+File.separator+"datadriven"+File.separator;
 }
@@ -0,0 +1,98 @@
+package commons;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Every hard sleep of the suite with its caller, so the idle time spent in sleeps can be measured
+ * and removed. Written to monitorLogs/hard-waits.txt at the end of the suite
+ */
+public class HardWaitReport {
+	private static final Log log = LogFactory.getLog(HardWaitReport.class);
+	private static final String REPORT_PATH = GlobalConstants.PROJECT_PATH + File.separator + "monitorLogs" + File.separator + "hard-waits.txt";
+	private static final HardWaitReport report = new HardWaitReport();
+
+	private final Map<String, Caller> callers = new ConcurrentHashMap<>();
+
+	private HardWaitReport() {
+	}
+
+	public static HardWaitReport getReport() {
+		return report;
+	}
+
+	/**
+	 * Record a sleep, the caller is the first frame outside of the sleeping method
+	 * @param sleepingMethod name of the method which sleeps, e.g. "sleepInSecond"
+	 * @param millis time slept
+	 */
+	public void record(String sleepingMethod, long millis) {
+		String caller = StackWalker.getInstance().walk(frames -> frames
+				.filter(frame -> !frame.getClassName().equals(HardWaitReport.class.getName()) && !frame.getMethodName().equals(sleepingMethod))
+				.findFirst()
+				.map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+				.orElse("unknown"));
+		callers.computeIfAbsent(caller, key -> new Caller()).record(millis);
+	}
+
+	public long getTotalMillis() {
+		return callers.values().stream().mapToLong(caller -> caller.totalMillis.get()).sum();
+	}
+
+	public long getSleepCount() {
+		return callers.values().stream().mapToLong(caller -> caller.count.get()).sum();
+	}
+
+	/**
+	 * Callers sorted by the time they slept, the longest first
+	 */
+	public List<String> getLines() {
+		List<Map.Entry<String, Caller>> entries = new ArrayList<>(callers.entrySet());
+		entries.sort((first, second) -> Long.compare(second.getValue().totalMillis.get(), first.getValue().totalMillis.get()));
+		List<String> lines = new ArrayList<>();
+		for (Map.Entry<String, Caller> entry : entries) {
+			lines.add(String.format("%8d ms %5d sleeps  %s", entry.getValue().totalMillis.get(), entry.getValue().count.get(), entry.getKey()));
+		}
+		return lines;
+	}
+
+	/**
+	 * Log the total and write the report file, nothing is written when the suite did not sleep
+	 */
+	public void save() {
+		if (callers.isEmpty()) {
+			return;
+		}
+		log.info("Hard waits: " + getSleepCount() + " sleeps, " + getTotalMillis() + " ms idle, see " + REPORT_PATH);
+		File reportFile = new File(REPORT_PATH);
+		reportFile.getParentFile().mkdirs();
+		try (Writer writer = new FileWriter(reportFile)) {
+			writer.write("Hard waits: " + getSleepCount() + " sleeps, " + getTotalMillis() + " ms" + System.lineSeparator());
+			for (String line : getLines()) {
+				writer.write(line + System.lineSeparator());
+			}
+		} catch (IOException e) {
+			log.info("Cannot write hard wait report " + REPORT_PATH + ": " + e.getMessage());
+		}
+	}
+
+	private static class Caller {
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong totalMillis = new AtomicLong();
+
+		private void record(long millis) {
+			count.incrementAndGet();
+			totalMillis.addAndGet(millis);
+		}
+	}
+}
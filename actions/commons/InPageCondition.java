@@ -0,0 +1,137 @@
+package commons;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+/**
+ * Wait condition evaluated inside the page by {@link WaitEngine#untilInPage(long, InPageCondition...)},
+ * the element is located by xpath
+ */
+public class InPageCondition {
+	private final Map<String, Object> spec = new HashMap<>();
+
+	private InPageCondition(String type, String xpathLocator) {
+		spec.put("type", type);
+		spec.put("xpath", xpathLocator);
+	}
+
+	/**
+	 * The element is displayed: not display:none/visibility:hidden/opacity 0 and has a size
+	 */
+	public static InPageCondition visible(String xpathLocator) {
+		return new InPageCondition("visible", xpathLocator);
+	}
+
+	/**
+	 * The element is visible, enabled and not covered by another element at its center
+	 */
+	public static InPageCondition clickable(String xpathLocator) {
+		return new InPageCondition("clickable", xpathLocator);
+	}
+
+	/**
+	 * No element of the locator is displayed (or none exists)
+	 */
+	public static InPageCondition invisible(String xpathLocator) {
+		return new InPageCondition("invisible", xpathLocator);
+	}
+
+	/**
+	 * The element was removed from the page
+	 */
+	public static InPageCondition stale(WebElement element) {
+		InPageCondition condition = new InPageCondition("stale", null);
+		condition.spec.put("element", element);
+		return condition;
+	}
+
+	/**
+	 * Anything in the subtree of the element changes (children, attributes, text) or the element is replaced
+	 */
+	public static InPageCondition changed(String xpathLocator) {
+		return new InPageCondition("changed", xpathLocator);
+	}
+
+	public static InPageCondition textPresent(String xpathLocator, String text) {
+		InPageCondition condition = new InPageCondition("text", xpathLocator);
+		condition.spec.put("text", text);
+		return condition;
+	}
+
+	public static InPageCondition countAtLeast(String xpathLocator, int count) {
+		InPageCondition condition = new InPageCondition("count", xpathLocator);
+		condition.spec.put("count", count);
+		return condition;
+	}
+
+	public static InPageCondition attributeEquals(String xpathLocator, String attributeName, String value) {
+		InPageCondition condition = new InPageCondition("attribute", xpathLocator);
+		condition.spec.put("name", attributeName);
+		condition.spec.put("value", value);
+		return condition;
+	}
+
+	Map<String, Object> toSpec() {
+		return spec;
+	}
+
+	/**
+	 * Same condition checked through WebDriver commands, for drivers which cannot run asynchronous scripts
+	 * @param driver driver, used to take the initial state of a changed condition
+	 * @return condition returning the element, true or null when not met
+	 */
+	Function<WebDriver, Object> toPollingCondition(WebDriver driver) {
+		String xpathLocator = (String) spec.get("xpath");
+		By locator = xpathLocator == null ? null : By.xpath(xpathLocator);
+		switch ((String) spec.get("type")) {
+		case "visible":
+			return ExpectedConditions.visibilityOfElementLocated(locator)::apply;
+		case "invisible":
+			return ExpectedConditions.invisibilityOfElementLocated(locator)::apply;
+		case "clickable":
+			return ExpectedConditions.elementToBeClickable(locator)::apply;
+		case "text":
+			return ExpectedConditions.textToBePresentInElementLocated(locator, (String) spec.get("text"))::apply;
+		case "attribute":
+			return ExpectedConditions.attributeToBe(locator, (String) spec.get("name"), (String) spec.get("value"))::apply;
+		case "stale":
+			return ExpectedConditions.stalenessOf((WebElement) spec.get("element"))::apply;
+		case "count":
+			int count = (Integer) spec.get("count");
+			return currentDriver -> {
+				List<WebElement> elements = currentDriver.findElements(locator);
+				return elements.size() >= count ? (elements.isEmpty() ? true : elements.get(0)) : null;
+			};
+		case "changed":
+			String initialHtml = getOuterHtml(driver, locator);
+			return currentDriver -> {
+				String html = getOuterHtml(currentDriver, locator);
+				return html != null && !html.equals(initialHtml) ? true : null;
+			};
+		default:
+			throw new IllegalStateException("Unknown condition " + spec.get("type"));
+		}
+	}
+
+	private static String getOuterHtml(WebDriver driver, By locator) {
+		List<WebElement> elements = driver.findElements(locator);
+		try {
+			return elements.isEmpty() ? null : elements.get(0).getAttribute("outerHTML");
+		} catch (StaleElementReferenceException e) {
+			return "";
+		}
+	}
+
+	@Override
+	public String toString() {
+		return spec.toString();
+	}
+}
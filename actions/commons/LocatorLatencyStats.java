@@ -0,0 +1,102 @@
+package commons;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * How long each locator usually takes to satisfy its wait condition (moving average),
+ * kept in monitorLogs/locator-latency.properties so the next run starts with the history
+ */
+public class LocatorLatencyStats {
+	private static final Log log = LogFactory.getLog(LocatorLatencyStats.class);
+	private static final String STATS_PATH = GlobalConstants.PROJECT_PATH + File.separator + "monitorLogs" + File.separator + "locator-latency.properties";
+	private static final LocatorLatencyStats stats = new LocatorLatencyStats(new File(PropertiesConfig.getConfig().getString("wait.latency.file", STATS_PATH)));
+	private static final double SMOOTHING = 0.3;
+
+	private final File statsFile;
+	private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+
+	public LocatorLatencyStats(File statsFile) {
+		this.statsFile = statsFile;
+		if (!statsFile.isFile()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try (Reader reader = new FileReader(statsFile)) {
+			properties.load(reader);
+		} catch (IOException e) {
+			log.info("Cannot read locator latencies " + statsFile + ": " + e.getMessage());
+			return;
+		}
+		for (String key : properties.stringPropertyNames()) {
+			String[] values = properties.getProperty(key).split(",");
+			try {
+				latencies.put(key, new Latency(Double.parseDouble(values[0]), Long.parseLong(values[1])));
+			} catch (RuntimeException e) {
+				log.info("Skip invalid locator latency " + key);
+			}
+		}
+	}
+
+	public static LocatorLatencyStats getStats() {
+		return stats;
+	}
+
+	/**
+	 * Expected time for the locator to satisfy the condition
+	 * @param key condition and locator, e.g. "visible://button[@id='login']"
+	 * @return average latency in milliseconds or -1 when the locator has no history
+	 */
+	public long getExpectedMillis(String key) {
+		Latency latency = latencies.get(key);
+		return latency == null ? -1 : Math.round(latency.averageMillis);
+	}
+
+	public void record(String key, long millis) {
+		latencies.compute(key, (name, latency) -> latency == null ? new Latency(millis, 1)
+				: new Latency(latency.averageMillis + SMOOTHING * (millis - latency.averageMillis), latency.samples + 1));
+	}
+
+	/**
+	 * Write the latencies for the next run (temp file then move, so parallel JVMs never read half a file)
+	 */
+	public synchronized void save() {
+		Properties properties = new Properties();
+		for (Map.Entry<String, Latency> entry : latencies.entrySet()) {
+			properties.setProperty(entry.getKey(), Math.round(entry.getValue().averageMillis) + "," + entry.getValue().samples);
+		}
+		try {
+			File parent = statsFile.getAbsoluteFile().getParentFile();
+			parent.mkdirs();
+			File tempFile = File.createTempFile("locator-latency", ".properties", parent);
+			try (Writer writer = new FileWriter(tempFile)) {
+				properties.store(writer, "Average wait latency in ms and number of samples per locator");
+			}
+			Files.move(tempFile.toPath(), statsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			log.info("Cannot save locator latencies " + statsFile + ": " + e.getMessage());
+		}
+	}
+
+	private static class Latency {
+		private final double averageMillis;
+		private final long samples;
+
+		private Latency(double averageMillis, long samples) {
+			this.averageMillis = averageMillis;
+			this.samples = samples;
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package commons;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Name of the PageUI constant of an xpath, e.g. "AdminProductDetailPageUI.SAVE_BUTTON".
+ * Constants are read from the pageUI package and from the package of the calling page object
+ * (classes named *UI), xpaths built from a dynamic locator are matched against its %s template
+ */
+class LocatorNames {
+	private static final Log log = LogFactory.getLog(LocatorNames.class);
+	private static final int MAX_CACHED_XPATHS = 10000;
+
+	private final Map<String, String> namesByXpath = new ConcurrentHashMap<>();
+	private final List<DynamicLocator> dynamicLocators = new ArrayList<>();
+	private final Set<String> scannedPackages = ConcurrentHashMap.newKeySet();
+	private final Map<String, String> resolved = new ConcurrentHashMap<>();
+
+	LocatorNames() {
+		scan("pageUI");
+	}
+
+	/**
+	 * @param xpathLocator xpath given to BasePage
+	 * @param caller page object (or test) calling BasePage, its package is scanned for UI classes
+	 * @return name of the constant or the xpath itself when no constant has this value
+	 */
+	String nameOf(String xpathLocator, Class<?> caller) {
+		if (caller != null && caller.getPackage() != null) {
+			scan(caller.getPackage().getName());
+		}
+		String name = resolved.get(xpathLocator);
+		if (name != null) {
+			return name;
+		}
+		name = namesByXpath.get(xpathLocator);
+		if (name == null) {
+			synchronized (dynamicLocators) {
+				for (DynamicLocator dynamicLocator : dynamicLocators) {
+					if (dynamicLocator.pattern.matcher(xpathLocator).matches()) {
+						name = dynamicLocator.name;
+						break;
+					}
+				}
+			}
+		}
+		if (name == null) {
+			name = xpathLocator;
+		}
+		if (resolved.size() < MAX_CACHED_XPATHS) {
+			resolved.put(xpathLocator, name);
+		}
+		return name;
+	}
+
+	private void scan(String packageName) {
+		if (!scannedPackages.add(packageName)) {
+			return;
+		}
+		for (Class<?> uiClass : loadUiClasses(packageName)) {
+			register(uiClass);
+		}
+		// A new constant may match an xpath already resolved to itself
+		resolved.clear();
+	}
+
+	/**
+	 * Load the classes named *UI of the package and its sub packages, from directories or jars of the classpath
+	 */
+	static List<Class<?>> loadUiClasses(String packageName) {
+		List<Class<?>> uiClasses = new ArrayList<>();
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		try {
+			Enumeration<URL> resources = classLoader.getResources(packageName.replace('.', '/'));
+			while (resources.hasMoreElements()) {
+				URL resource = resources.nextElement();
+				for (String className : listClasses(resource, packageName)) {
+					if (!className.endsWith("UI")) {
+						continue;
+					}
+					try {
+						uiClasses.add(Class.forName(className, true, classLoader));
+					} catch (ReflectiveOperationException | LinkageError e) {
+						log.info("Cannot load locators of " + className + ": " + e.getMessage());
+					}
+				}
+			}
+		} catch (IOException e) {
+			log.info("Cannot scan locators of " + packageName + ": " + e.getMessage());
+		}
+		return uiClasses;
+	}
+
+	/**
+	 * @return constant name to xpath of the static String constants of the UI class
+	 */
+	static Map<String, String> getLocators(Class<?> uiClass) {
+		Map<String, String> locators = new LinkedHashMap<>();
+		for (Field field : uiClass.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String.class) {
+				continue;
+			}
+			try {
+				field.setAccessible(true);
+				String xpathLocator = (String) field.get(null);
+				if (xpathLocator != null) {
+					locators.put(field.getName(), xpathLocator);
+				}
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				log.info("Cannot read locator " + uiClass.getSimpleName() + "." + field.getName() + ": " + e.getMessage());
+			}
+		}
+		return locators;
+	}
+
+	private static List<String> listClasses(URL resource, String packageName) throws IOException {
+		List<String> classNames = new ArrayList<>();
+		String packagePath = packageName.replace('.', '/') + "/";
+		if ("file".equals(resource.getProtocol())) {
+			try {
+				listClassFiles(new File(resource.toURI()), packageName, classNames);
+			} catch (URISyntaxException e) {
+				log.info("Cannot scan locators in " + resource + ": " + e.getMessage());
+			}
+		} else if ("jar".equals(resource.getProtocol())) {
+			JarURLConnection connection = (JarURLConnection) resource.openConnection();
+			connection.setUseCaches(false);
+			try (JarFile jarFile = connection.getJarFile()) {
+				Enumeration<JarEntry> entries = jarFile.entries();
+				while (entries.hasMoreElements()) {
+					String entryName = entries.nextElement().getName();
+					if (entryName.startsWith(packagePath) && entryName.endsWith(".class") && !entryName.contains("$")) {
+						classNames.add(entryName.substring(0, entryName.length() - ".class".length()).replace('/', '.'));
+					}
+				}
+			}
+		}
+		return classNames;
+	}
+
+	private static void listClassFiles(File directory, String packageName, List<String> classNames) {
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			if (file.isDirectory()) {
+				listClassFiles(file, packageName + "." + file.getName(), classNames);
+			} else if (file.getName().endsWith(".class") && !file.getName().contains("$")) {
+				classNames.add(packageName + "." + file.getName().substring(0, file.getName().length() - ".class".length()));
+			}
+		}
+	}
+
+	private void register(Class<?> uiClass) {
+		for (Map.Entry<String, String> locator : getLocators(uiClass).entrySet()) {
+			String name = uiClass.getSimpleName() + "." + locator.getKey();
+			namesByXpath.merge(locator.getValue(), name, (first, second) -> first + "/" + second);
+			if (locator.getValue().contains("%s")) {
+				synchronized (dynamicLocators) {
+					dynamicLocators.add(new DynamicLocator(name, locator.getValue()));
+				}
+			}
+		}
+	}
+
+	private static class DynamicLocator {
+		private final String name;
+		private final Pattern pattern;
+
+		private DynamicLocator(String name, String template) {
+			this.name = name;
+			StringBuilder regex = new StringBuilder();
+			String[] parts = template.split("%s", -1);
+			for (int i = 0; i < parts.length; i++) {
+				if (i > 0) {
+					regex.append("(.*?)");
+				}
+				regex.append(Pattern.quote(parts[i]));
+			}
+			this.pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+		}
+	}
+}
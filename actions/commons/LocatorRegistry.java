@@ -0,0 +1,125 @@
+package commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.MissingFormatArgumentException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+
+/**
+ * Compiled locators: one By per xpath and one pre-parsed template per dynamic locator, so BasePage does no
+ * By construction or String.format parsing per call. Every constant of the pageUI package is compiled on first use
+ */
+public class LocatorRegistry {
+	private static final int MAX_CACHED_LOCATORS = 20000;
+	private static final LocatorRegistry registry = new LocatorRegistry();
+
+	private final Map<String, By> locators = new ConcurrentHashMap<>();
+	private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+	private LocatorRegistry() {
+		precompile("pageUI");
+	}
+
+	public static LocatorRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * Compile the locators of the *UI classes of a package, e.g. the package of page objects kept outside pageUI
+	 * @param packageName package to scan
+	 */
+	public void precompile(String packageName) {
+		for (Class<?> uiClass : LocatorNames.loadUiClasses(packageName)) {
+			for (String xpathLocator : LocatorNames.getLocators(uiClass).values()) {
+				if (xpathLocator.contains("%")) {
+					templates.computeIfAbsent(xpathLocator, Template::new);
+				} else {
+					locators.computeIfAbsent(xpathLocator, By::xpath);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param xpathLocator xpath, static or rendered from a template
+	 * @return cached By of the xpath
+	 */
+	public By getBy(String xpathLocator) {
+		By locator = locators.get(xpathLocator);
+		if (locator != null) {
+			return locator;
+		}
+		locator = By.xpath(xpathLocator);
+		// Rendered xpaths with generated test data are endless, stop caching new ones past the limit
+		if (locators.size() < MAX_CACHED_LOCATORS) {
+			locators.putIfAbsent(xpathLocator, locator);
+		}
+		return locator;
+	}
+
+	/**
+	 * Same result as String.format(template, params) for %s templates
+	 * @param template dynamic locator, e.g. "//input[@id='%s']"
+	 * @param params values of the %s placeholders
+	 * @return xpath
+	 */
+	public String render(String template, String... params) {
+		Template compiled = templates.get(template);
+		if (compiled == null) {
+			compiled = templates.size() < MAX_CACHED_LOCATORS ? templates.computeIfAbsent(template, Template::new) : new Template(template);
+		}
+		return compiled.render(template, params);
+	}
+
+	private static class Template {
+		private final String[] segments;
+		private final int length;
+
+		private Template(String template) {
+			if (!isPlainTemplate(template)) {
+				// %d, %1$s, %% ... are left to String.format
+				segments = null;
+				length = 0;
+				return;
+			}
+			List<String> parts = new ArrayList<>();
+			int start = 0;
+			int placeholder;
+			while ((placeholder = template.indexOf("%s", start)) >= 0) {
+				parts.add(template.substring(start, placeholder));
+				start = placeholder + 2;
+			}
+			parts.add(template.substring(start));
+			segments = parts.toArray(new String[0]);
+			length = template.length();
+		}
+
+		private static boolean isPlainTemplate(String template) {
+			for (int i = template.indexOf('%'); i >= 0; i = template.indexOf('%', i + 2)) {
+				if (i + 1 >= template.length() || template.charAt(i + 1) != 's') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private String render(String template, String[] params) {
+			if (segments == null) {
+				return String.format(template, (Object[]) params);
+			}
+			int placeholders = segments.length - 1;
+			if (params.length < placeholders) {
+				throw new MissingFormatArgumentException("Format specifier '%s'");
+			}
+			StringBuilder xpath = new StringBuilder(length + 16 * placeholders);
+			xpath.append(segments[0]);
+			for (int i = 0; i < placeholders; i++) {
+				xpath.append(params[i]).append(segments[i + 1]);
+			}
+			return xpath.toString();
+		}
+	}
+}
@@ -0,0 +1,209 @@
+package commons;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Latency histogram of every locator used by BasePage waits and finds, keyed by page object and
+ * PageUI constant. The slowest locators are written to monitorLogs/slowest-locators.json and .html
+ * at the end of the suite (disabled with -Dwait.telemetry=false)
+ */
+public class LocatorTelemetry {
+	private static final Log log = LogFactory.getLog(LocatorTelemetry.class);
+	private static final String REPORT_PATH = GlobalConstants.PROJECT_PATH + File.separator + "monitorLogs" + File.separator + "slowest-locators";
+	private static final boolean ENABLED = PropertiesConfig.getConfig().getBoolean("wait.telemetry", true);
+	private static final long[] BUCKET_BOUNDS_MILLIS = { 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000 };
+	private static final LocatorTelemetry telemetry = new LocatorTelemetry();
+
+	private final Map<String, LocatorStats> stats = new ConcurrentHashMap<>();
+	private volatile LocatorNames names;
+
+	private LocatorTelemetry() {
+	}
+
+	public static LocatorTelemetry getTelemetry() {
+		return telemetry;
+	}
+
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	/**
+	 * Record the time a wait or find on the locator took, the page is the page object calling BasePage
+	 * @param xpathLocator xpath given to BasePage
+	 * @param operation e.g. "find", "wait visible"
+	 * @param nanos time spent
+	 * @param failed whether the wait or find failed
+	 */
+	public void record(String xpathLocator, String operation, long nanos, boolean failed) {
+		if (!ENABLED || xpathLocator == null) {
+			return;
+		}
+		Class<?> caller = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(frames -> frames
+				.map(StackWalker.StackFrame::getDeclaringClass)
+				.filter(declaringClass -> declaringClass != LocatorTelemetry.class && !declaringClass.getName().startsWith(BasePage.class.getName()))
+				.findFirst()
+				.orElse(null));
+		String page = caller == null ? "unknown" : caller.getSimpleName();
+		String locator = getNames().nameOf(xpathLocator, caller);
+		stats.computeIfAbsent(page + "|" + locator, key -> new LocatorStats(page, locator, xpathLocator)).record(operation, nanos, failed);
+	}
+
+	private LocatorNames getNames() {
+		if (names == null) {
+			synchronized (this) {
+				if (names == null) {
+					names = new LocatorNames();
+				}
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Locators sorted by the total time spent on them, the slowest first
+	 */
+	public List<Map<String, Object>> getSlowestLocators() {
+		List<LocatorStats> sorted = new ArrayList<>(stats.values());
+		sorted.sort((first, second) -> Long.compare(second.getTotalNanos(), first.getTotalNanos()));
+		List<Map<String, Object>> rows = new ArrayList<>();
+		for (LocatorStats locatorStats : sorted) {
+			rows.add(locatorStats.toMap());
+		}
+		return rows;
+	}
+
+	/**
+	 * Write the JSON and HTML reports, nothing is written when no locator was recorded
+	 */
+	public void save() {
+		if (stats.isEmpty()) {
+			return;
+		}
+		List<Map<String, Object>> rows = getSlowestLocators();
+		new File(REPORT_PATH).getParentFile().mkdirs();
+		try (Writer writer = new FileWriter(REPORT_PATH + ".json")) {
+			writer.write(new Json().toJson(rows));
+		} catch (IOException e) {
+			log.info("Cannot write locator report " + REPORT_PATH + ".json: " + e.getMessage());
+		}
+		try (Writer writer = new FileWriter(REPORT_PATH + ".html")) {
+			writer.write(toHtml(rows));
+		} catch (IOException e) {
+			log.info("Cannot write locator report " + REPORT_PATH + ".html: " + e.getMessage());
+		}
+		log.info("Slowest locator: " + rows.get(0).get("page") + " " + rows.get(0).get("locator") + " " + rows.get(0).get("totalMillis")
+				+ " ms, see " + REPORT_PATH + ".html");
+	}
+
+	private String toHtml(List<Map<String, Object>> rows) {
+		StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Slowest locators</title>"
+				+ "<style>body{font-family:sans-serif}table{border-collapse:collapse}td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}"
+				+ "td.text{text-align:left}</style></head><body><h1>Slowest locators</h1><table><tr><th>Page</th><th>Locator</th><th>Calls</th>"
+				+ "<th>Failures</th><th>Total ms</th><th>Mean ms</th><th>p50 ms</th><th>p95 ms</th><th>Max ms</th><th>Operations</th><th>Histogram (ms)</th></tr>");
+		for (Map<String, Object> row : rows) {
+			html.append("<tr><td class=\"text\">").append(escape(row.get("page")))
+					.append("</td><td class=\"text\" title=\"").append(escape(row.get("xpath"))).append("\">").append(escape(row.get("locator")))
+					.append("</td><td>").append(row.get("count"))
+					.append("</td><td>").append(row.get("failures"))
+					.append("</td><td>").append(row.get("totalMillis"))
+					.append("</td><td>").append(row.get("meanMillis"))
+					.append("</td><td>").append(row.get("p50Millis"))
+					.append("</td><td>").append(row.get("p95Millis"))
+					.append("</td><td>").append(row.get("maxMillis"))
+					.append("</td><td class=\"text\">").append(escape(row.get("operations")))
+					.append("</td><td class=\"text\">").append(escape(row.get("histogram"))).append("</td></tr>");
+		}
+		return html.append("</table></body></html>").toString();
+	}
+
+	private static String escape(Object value) {
+		return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+	}
+
+	private static class LocatorStats {
+		private final String page;
+		private final String locator;
+		private final String xpath;
+		private final long[] buckets = new long[BUCKET_BOUNDS_MILLIS.length + 1];
+		private final Map<String, Long> operations = new LinkedHashMap<>();
+		private long count;
+		private long failures;
+		private long totalNanos;
+		private long maxNanos;
+
+		private LocatorStats(String page, String locator, String xpath) {
+			this.page = page;
+			this.locator = locator;
+			this.xpath = xpath;
+		}
+
+		private synchronized void record(String operation, long nanos, boolean failed) {
+			long millis = nanos / 1_000_000;
+			int bucket = 0;
+			while (bucket < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[bucket]) {
+				bucket++;
+			}
+			buckets[bucket]++;
+			operations.merge(operation, 1L, Long::sum);
+			count++;
+			if (failed) {
+				failures++;
+			}
+			totalNanos += nanos;
+			maxNanos = Math.max(maxNanos, nanos);
+		}
+
+		private synchronized long getTotalNanos() {
+			return totalNanos;
+		}
+
+		/**
+		 * Upper bound of the bucket holding the percentile, the max for the last bucket
+		 */
+		private long percentileMillis(double percentile) {
+			long rank = (long) Math.ceil(count * percentile);
+			long seen = 0;
+			for (int bucket = 0; bucket < buckets.length; bucket++) {
+				seen += buckets[bucket];
+				if (seen >= rank) {
+					return bucket < BUCKET_BOUNDS_MILLIS.length ? Math.min(BUCKET_BOUNDS_MILLIS[bucket], maxNanos / 1_000_000) : maxNanos / 1_000_000;
+				}
+			}
+			return maxNanos / 1_000_000;
+		}
+
+		private synchronized Map<String, Object> toMap() {
+			Map<String, Object> histogram = new LinkedHashMap<>();
+			for (int bucket = 0; bucket < buckets.length; bucket++) {
+				histogram.put(bucket < BUCKET_BOUNDS_MILLIS.length ? "<=" + BUCKET_BOUNDS_MILLIS[bucket] : ">" + BUCKET_BOUNDS_MILLIS[bucket - 1], buckets[bucket]);
+			}
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("page", page);
+			row.put("locator", locator);
+			row.put("xpath", xpath);
+			row.put("count", count);
+			row.put("failures", failures);
+			row.put("totalMillis", totalNanos / 1_000_000);
+			row.put("meanMillis", count == 0 ? 0 : totalNanos / count / 1_000_000);
+			row.put("p50Millis", percentileMillis(0.5));
+			row.put("p95Millis", percentileMillis(0.95));
+			row.put("maxMillis", maxNanos / 1_000_000);
+			row.put("operations", new LinkedHashMap<>(operations));
+			row.put("histogram", histogram);
+			return row;
+		}
+	}
+}
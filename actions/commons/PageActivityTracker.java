@@ -0,0 +1,72 @@
+package commons;
+
+/**
+ * Script tracking the activity of a page: XHR and fetch requests in flight, pending short timers,
+ * running animations and DOM mutations. The tracker is installed once per document: after the navigations
+ * of BasePage and by the in-page wait which runs before an action (no extra call), so the requests started
+ * by a click are seen by the next {@link WaitEngine#untilPageQuiet(long, long)}, which installs it when it is
+ * still missing (polling waits, navigation outside BasePage)
+ */
+class PageActivityTracker {
+	/**
+	 * Timers longer than this are polling or idle timers and do not keep the page busy
+	 */
+	static final long MAX_TRACKED_TIMER_MILLIS = 1000;
+	/**
+	 * A timer scheduled by the callback of a timer scheduled by the callback of a timer... is a polling loop
+	 * or a carousel past this depth and no longer keeps the page busy
+	 */
+	static final int MAX_TRACKED_TIMER_CHAIN = 2;
+
+	/**
+	 * Installs the tracker in its own function scope, so it can be prepended to other scripts
+	 */
+	static final String INSTALL = "(function () { if (!window.__pageActivity) {"
+			+ " var activity = window.__pageActivity = { requests: 0, timers: {}, chain: 0, lastActivity: Date.now(),"
+			+ "  setTimeout: window.setTimeout.bind(window), clearTimeout: window.clearTimeout.bind(window) };"
+			+ " function touch() { activity.lastActivity = Date.now(); }"
+			+ " function start() { activity.requests++; touch(); }"
+			+ " function end() { activity.requests = Math.max(0, activity.requests - 1); touch(); }"
+			+ " var send = XMLHttpRequest.prototype.send;"
+			+ " XMLHttpRequest.prototype.send = function () { var done = false; start();"
+			+ "  this.addEventListener('loadend', function () { if (!done) { done = true; end(); } });"
+			+ "  try { return send.apply(this, arguments); } catch (e) { if (!done) { done = true; end(); } throw e; } };"
+			+ " if (window.fetch) { var fetch = window.fetch;"
+			+ "  window.fetch = function () { start(); try { var request = fetch.apply(this, arguments); } catch (e) { end(); throw e; }"
+			+ "   return request.then(function (response) { end(); return response; }, function (error) { end(); throw error; }); }; }"
+			+ " window.setTimeout = function (callback, delay) { var args = Array.prototype.slice.call(arguments, 2), id, chain = activity.chain + 1;"
+			+ "  var tracked = typeof callback === 'function' && (Number(delay) || 0) <= " + MAX_TRACKED_TIMER_MILLIS + " && chain <= " + MAX_TRACKED_TIMER_CHAIN + ";"
+			+ "  var wrapped = typeof callback === 'function' ? function () { var previous = activity.chain;"
+			+ "   if (tracked) { delete activity.timers[id]; touch(); } activity.chain = chain;"
+			+ "   try { return callback.apply(this, args); } finally { activity.chain = previous; } } : callback;"
+			+ "  id = activity.setTimeout(wrapped, delay);"
+			+ "  if (tracked) { activity.timers[id] = true; }"
+			+ "  return id; };"
+			+ " window.clearTimeout = function (id) { delete activity.timers[id]; return activity.clearTimeout(id); };"
+			+ " if (window.MutationObserver) { new MutationObserver(touch).observe(document.documentElement,"
+			+ "  { childList: true, subtree: true, attributes: true, characterData: true }); }"
+			+ "} })();";
+
+	/**
+	 * Asynchronous script: arguments are the idle window and the timeout in milliseconds,
+	 * returns {quiet: true} once nothing happened in the page for the idle window
+	 */
+	static final String WAIT_QUIET_SCRIPT = "var idle = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];"
+			+ INSTALL
+			+ "var activity = window.__pageActivity, end = Date.now() + timeout;"
+			+ "function isBusy() {"
+			+ " if (document.readyState !== 'complete' || activity.requests > 0 || Object.keys(activity.timers).length > 0) return true;"
+			+ " if (window.jQuery && window.jQuery.active > 0) return true;"
+			+ " if (document.getAnimations) { var animations = document.getAnimations();"
+			+ "  for (var i = 0; i < animations.length; i++) { var timing = animations[i].effect && animations[i].effect.getComputedTiming();"
+			+ "   if (animations[i].playState === 'running' && (!timing || timing.endTime !== Infinity)) return true; } }"
+			+ " return false; }"
+			+ "(function check() { var now = Date.now();"
+			+ " if (isBusy()) activity.lastActivity = now;"
+			+ " if (now - activity.lastActivity >= idle) { done({quiet: true}); return; }"
+			+ " if (now >= end) { done({quiet: false, requests: activity.requests, timers: Object.keys(activity.timers).length}); return; }"
+			+ " activity.setTimeout(check, Math.max(10, Math.min(50, idle / 4, end - now))); })();";
+
+	private PageActivityTracker() {
+	}
+}
@@ -1,79 +1,147 @@
 package commons;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Configuration of the framework, layered from the lowest to the highest priority:
+ * resources/config.properties, resources/&lt;env&gt;.properties (env from -Denv or the "env" key of config.properties)
+ * and the system properties. Parsed values are cached until {@link #reload()}
+ */
 public class PropertiesConfig {
-	private final Properties properties;
-	private final String propertyFilePath = GlobalConstants.PROJECT_PATH + File.separator+ "resources"+ File.separator+"config.properties";
-	
-	private static PropertiesConfig configLoader;
-	
+	private static final Log log = LogFactory.getLog(PropertiesConfig.class);
+	private static final String RESOURCES_PATH = System.getProperty("user.dir") + File.separator + "resources" + File.separator;
+	private static final PropertiesConfig configLoader = new PropertiesConfig();
+
+	private final Map<String, Object> cache = new ConcurrentHashMap<>();
+	private volatile Properties properties;
+
 	private PropertiesConfig() {
-		properties = PropertiesConfig.propertyLoader(propertyFilePath);
+		properties = load();
 	}
 
-	private static Properties propertyLoader(String propertyFilePath) {
-		Properties properties = new Properties();
-		BufferedReader reader;
-		try {
-			reader = new BufferedReader(new FileReader(propertyFilePath));
-			try {
-				properties.load(reader);
-				reader.close();
-			}catch (IOException e) {
-				// TODO: handle exception
-				e.printStackTrace();
-				throw new RuntimeException("Failed to load properties file "+propertyFilePath);
-			}
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-			throw new RuntimeException("Configuration properties not found at "+propertyFilePath);
-		}
-		return null;
+	public static PropertiesConfig getConfig() {
+		return configLoader;
 	}
-	
+
 	public static PropertiesConfig getFileConfigReader() {
-		if (configLoader == null) {
-			configLoader = new PropertiesConfig();
-		}
 		return configLoader;
 	}
-	
+
+	/**
+	 * Read the files again and drop the cached values, e.g. between two suites of the same JVM.
+	 * Constants of GlobalConstants and singletons already created keep the values they were built with
+	 */
+	public void reload() {
+		properties = load();
+		cache.clear();
+	}
+
+	private static Properties load() {
+		Properties config = new Properties();
+		loadFile(config, RESOURCES_PATH + "config.properties");
+		String env = System.getProperty("env", config.getProperty("env"));
+		if (env != null && !env.trim().isEmpty()) {
+			loadFile(config, RESOURCES_PATH + env.trim() + ".properties");
+		}
+		config.putAll(System.getProperties());
+		return config;
+	}
+
+	private static void loadFile(Properties config, String propertyFilePath) {
+		File propertyFile = new File(propertyFilePath);
+		if (!propertyFile.isFile()) {
+			log.info("Configuration properties not found at " + propertyFilePath);
+			return;
+		}
+		try (Reader reader = new FileReader(propertyFile)) {
+			config.load(reader);
+		} catch (IOException e) {
+			throw new RuntimeException("Failed to load properties file " + propertyFilePath, e);
+		}
+	}
+
+	/**
+	 * @param key property name, e.g. "browser.pool.size"
+	 * @return trimmed value or null when no layer defines the key
+	 */
+	public String getString(String key) {
+		String value = properties.getProperty(key);
+		return value == null ? null : value.trim();
+	}
+
+	public String getString(String key, String defaultValue) {
+		String value = getString(key);
+		return value == null ? defaultValue : value;
+	}
+
+	public int getInt(String key, int defaultValue) {
+		return getParsed(key, "int", Integer::valueOf, defaultValue);
+	}
+
+	public long getLong(String key, long defaultValue) {
+		return getParsed(key, "long", Long::valueOf, defaultValue);
+	}
+
+	public boolean getBoolean(String key, boolean defaultValue) {
+		return getParsed(key, "boolean", Boolean::valueOf, defaultValue);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T getParsed(String key, String type, Function<String, T> parser, T defaultValue) {
+		Object value = cache.computeIfAbsent(type + ":" + key, cacheKey -> {
+			String text = getString(key);
+			if (text == null || text.isEmpty()) {
+				return Missing.VALUE;
+			}
+			try {
+				return parser.apply(text);
+			} catch (NumberFormatException e) {
+				throw new IllegalStateException(String.format("Invalid %s value for %s: %s", type, key, text), e);
+			}
+		});
+		return value == Missing.VALUE ? defaultValue : (T) value;
+	}
+
 	public long getLongTimeout() {
-		String longTimeout = properties.getProperty("LongTimeOut");
-		if(longTimeout != null)
-			return Long.parseLong(longTimeout);
-		else 
-			throw new RuntimeException("Long timeout not found in Config file");
+		return getRequiredLong("LongTimeout");
 	}
-	
+
 	public long getShortTimeout() {
-		String shortTimeout = properties.getProperty("ShortTimeOut");
-		if(shortTimeout != null)
-			return Long.parseLong(shortTimeout);
-		else 
-			throw new RuntimeException("Short timeout not found in Config file");
+		return getRequiredLong("ShortTimeout");
 	}
-	
+
 	public String getUserURL() {
-		String url = properties.getProperty("UserURL");
-		if(url != null)
-			return url;
-		else 
-			throw new RuntimeException("User URL not found in Config file");
+		return getRequiredString("UserURL");
 	}
-	
+
 	public String getAdminURL() {
-		String url = properties.getProperty("AdminURL");
-		if(url != null)
-			return url;
-		else 
-			throw new RuntimeException("Admin URL not found in Config file");
+		return getRequiredString("AdminURL");
+	}
+
+	private String getRequiredString(String key) {
+		String value = getString(key);
+		if (value == null) {
+			throw new RuntimeException(key + " not found in Config file");
+		}
+		return value;
+	}
+
+	private long getRequiredLong(String key) {
+		getRequiredString(key);
+		return getLong(key, 0);
+	}
+
+	private enum Missing {
+		VALUE
 	}
 }
@@ -0,0 +1,307 @@
+package commons;
+
+import java.text.Collator;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks that texts read from the page are in order with one pass over adjacent values: strings with the
+ * collation of the locale (-Dsort.locale, default en), numbers and dates parsed into primitive arrays.
+ * Equal values may follow each other in any order unless the check asks for a strict order.
+ * Date patterns are tried in the order of -Dsort.datePatterns ("|" separated), the last one that matched first
+ */
+public class SortVerifier {
+	private static final String DEFAULT_DATE_PATTERNS = "EEEE, MMMM d, yyyy|MMMM d, yyyy|MMM d, yyyy|MMM d yyyy|M/d/yyyy h:mm:ss a|M/d/yyyy h:mm a|M/d/yyyy"
+			+ "|yyyy-MM-dd'T'HH:mm:ss|yyyy-MM-dd HH:mm:ss|yyyy-MM-dd";
+	private static final Map<Locale, SortVerifier> verifiers = new ConcurrentHashMap<>();
+
+	public enum Order {
+		ASCENDING, DESCENDING
+	}
+
+	public enum Ties {
+		/** equal values may follow each other */
+		ALLOWED,
+		/** every value must be strictly after the previous one */
+		REJECTED
+	}
+
+	private final Locale locale;
+	private final ThreadLocal<Collator> collator;
+	private final char decimalSeparator;
+	private final char groupingSeparator;
+	private final char minusSign;
+	private final DateTimeFormatter[] dateFormatters;
+	private volatile int preferredDateFormatter;
+
+	private SortVerifier(Locale locale) {
+		this.locale = locale;
+		this.collator = ThreadLocal.withInitial(() -> {
+			Collator localeCollator = Collator.getInstance(locale);
+			// Pages sort case-insensitively, "Banana" and "banana" are ties
+			localeCollator.setStrength(Collator.SECONDARY);
+			return localeCollator;
+		});
+		DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+		this.decimalSeparator = symbols.getDecimalSeparator();
+		this.groupingSeparator = symbols.getGroupingSeparator();
+		this.minusSign = symbols.getMinusSign();
+		String[] patterns = PropertiesConfig.getConfig().getString("sort.datePatterns", DEFAULT_DATE_PATTERNS).split("\\|");
+		this.dateFormatters = new DateTimeFormatter[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
+			dateFormatters[i] = new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(patterns[i].trim()).toFormatter(locale);
+		}
+	}
+
+	/**
+	 * @return verifier of the -Dsort.locale locale
+	 */
+	public static SortVerifier getVerifier() {
+		return getVerifier(Locale.forLanguageTag(PropertiesConfig.getConfig().getString("sort.locale", "en")));
+	}
+
+	public static SortVerifier getVerifier(Locale locale) {
+		return verifiers.computeIfAbsent(locale, SortVerifier::new);
+	}
+
+	public SortResult checkStrings(List<String> texts, Order order) {
+		return checkStrings(texts, order, Ties.ALLOWED);
+	}
+
+	/**
+	 * @param texts values in page order
+	 * @param order expected order
+	 * @param ties whether equal values are accepted
+	 * @return result with the first index out of order
+	 */
+	public SortResult checkStrings(List<String> texts, Order order, Ties ties) {
+		Collator threadCollator = collator.get();
+		for (int i = 1; i < texts.size(); i++) {
+			if (!inOrder(threadCollator.compare(texts.get(i - 1), texts.get(i)), order, ties)) {
+				return SortResult.unsorted(order, ties, texts, i);
+			}
+		}
+		return SortResult.sorted(order, ties, texts.size());
+	}
+
+	public SortResult checkNumbers(List<String> texts, Order order) {
+		return checkNumbers(texts, order, Ties.ALLOWED);
+	}
+
+	/**
+	 * @param texts values in page order, the first number of each text is compared, e.g. "$1,200.00" or "Price: 5"
+	 */
+	public SortResult checkNumbers(List<String> texts, Order order, Ties ties) {
+		double[] values = new double[texts.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = parseNumber(texts.get(i), i);
+		}
+		int index = firstUnsortedIndex(values, order, ties);
+		return index < 0 ? SortResult.sorted(order, ties, values.length) : SortResult.unsorted(order, ties, texts, index);
+	}
+
+	public SortResult checkDates(List<String> texts, Order order) {
+		return checkDates(texts, order, Ties.ALLOWED);
+	}
+
+	/**
+	 * @param texts values in page order, a label ending with ':' before the date is ignored, e.g. "Order Date: May 14, 2024"
+	 */
+	public SortResult checkDates(List<String> texts, Order order, Ties ties) {
+		long[] values = new long[texts.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = parseDate(texts.get(i), i);
+		}
+		int index = firstUnsortedIndex(values, order, ties);
+		return index < 0 ? SortResult.sorted(order, ties, values.length) : SortResult.unsorted(order, ties, texts, index);
+	}
+
+	/**
+	 * @return index of the first value out of order with the value before it, -1 when sorted
+	 */
+	public static int firstUnsortedIndex(double[] values, Order order, Ties ties) {
+		for (int i = 1; i < values.length; i++) {
+			if (!inOrder(Double.compare(values[i - 1], values[i]), order, ties)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int firstUnsortedIndex(long[] values, Order order, Ties ties) {
+		for (int i = 1; i < values.length; i++) {
+			if (!inOrder(Long.compare(values[i - 1], values[i]), order, ties)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean inOrder(int comparison, Order order, Ties ties) {
+		if (comparison == 0) {
+			return ties == Ties.ALLOWED;
+		}
+		return order == Order.ASCENDING ? comparison < 0 : comparison > 0;
+	}
+
+	/**
+	 * First number of the text with the separators of the locale, without copying the text
+	 * @param text e.g. "$1,200.50", "-5", "-$5", "From 3.99 to 5.99"
+	 * @return value of the number
+	 */
+	public double parseNumber(String text) {
+		return parseNumber(text, -1);
+	}
+
+	private double parseNumber(String text, int index) {
+		int start = 0;
+		while (start < text.length() && !Character.isDigit(text.charAt(start))) {
+			start++;
+		}
+		if (start == text.length()) {
+			throw new NumberFormatException("No number in \"" + text + "\"" + (index < 0 ? "" : " at index " + index));
+		}
+		// Only a minus sign right before the number, or before its currency symbol, makes it negative: "Product - $12.99" is not
+		int sign = start - 1;
+		if (sign > 0 && Character.getType(text.charAt(sign)) == Character.CURRENCY_SYMBOL) {
+			sign--;
+		}
+		boolean negative = sign >= 0 && isMinusSign(text.charAt(sign));
+		long digits = 0;
+		int scale = 0;
+		boolean decimals = false;
+		for (int i = start; i < text.length(); i++) {
+			char c = text.charAt(i);
+			boolean digitNext = i + 1 < text.length() && Character.isDigit(text.charAt(i + 1));
+			if (Character.isDigit(c)) {
+				try {
+					digits = Math.addExact(Math.multiplyExact(digits, 10), Character.digit(c, 10));
+				} catch (ArithmeticException e) {
+					throw new NumberFormatException("Number too long in \"" + text + "\"" + (index < 0 ? "" : " at index " + index));
+				}
+				if (decimals) {
+					scale++;
+				}
+			} else if (c == decimalSeparator && !decimals && digitNext) {
+				decimals = true;
+			} else if (!decimals && digitNext && isGroupingSeparator(c)) {
+				continue;
+			} else {
+				break;
+			}
+		}
+		double value = digits / Math.pow(10, scale);
+		return negative ? -value : value;
+	}
+
+	private boolean isMinusSign(char c) {
+		return c == '-' || c == minusSign;
+	}
+
+	private boolean isGroupingSeparator(char c) {
+		return c == groupingSeparator || (Character.isSpaceChar(groupingSeparator) && Character.isSpaceChar(c));
+	}
+
+	/**
+	 * @param text date or date time in one of the sort.datePatterns
+	 * @return epoch milliseconds (UTC), only meant for comparing dates of the same page
+	 */
+	public long parseDate(String text) {
+		return parseDate(text, -1);
+	}
+
+	private long parseDate(String text, int index) {
+		String date = text.trim();
+		int label = date.indexOf(':');
+		if (label > 0 && !Character.isDigit(date.charAt(label - 1))) {
+			date = date.substring(label + 1).trim();
+		}
+		int preferred = preferredDateFormatter;
+		for (int attempt = 0; attempt < dateFormatters.length; attempt++) {
+			int formatter = (preferred + attempt) % dateFormatters.length;
+			try {
+				TemporalAccessor parsed = dateFormatters[formatter].parse(date);
+				preferredDateFormatter = formatter;
+				LocalDateTime dateTime = parsed.isSupported(ChronoField.HOUR_OF_DAY) ? LocalDateTime.from(parsed) : LocalDate.from(parsed).atStartOfDay();
+				return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+			} catch (DateTimeParseException e) {
+				// next pattern
+			}
+		}
+		throw new IllegalArgumentException("Cannot parse date \"" + text + "\"" + (index < 0 ? "" : " at index " + index) + " with the "
+				+ locale + " patterns " + PropertiesConfig.getConfig().getString("sort.datePatterns", DEFAULT_DATE_PATTERNS));
+	}
+
+	/**
+	 * Outcome of a check, with the first value out of order and the value before it
+	 */
+	public static class SortResult {
+		private final Order order;
+		private final Ties ties;
+		private final int size;
+		private final int firstUnsortedIndex;
+		private final String previous;
+		private final String current;
+
+		private SortResult(Order order, Ties ties, int size, int firstUnsortedIndex, String previous, String current) {
+			this.order = order;
+			this.ties = ties;
+			this.size = size;
+			this.firstUnsortedIndex = firstUnsortedIndex;
+			this.previous = previous;
+			this.current = current;
+		}
+
+		private static SortResult sorted(Order order, Ties ties, int size) {
+			return new SortResult(order, ties, size, -1, null, null);
+		}
+
+		private static SortResult unsorted(Order order, Ties ties, List<String> texts, int index) {
+			return new SortResult(order, ties, texts.size(), index, texts.get(index - 1), texts.get(index));
+		}
+
+		public boolean isSorted() {
+			return firstUnsortedIndex < 0;
+		}
+
+		/**
+		 * @return index of the first value out of order with the value before it, -1 when sorted
+		 */
+		public int getFirstUnsortedIndex() {
+			return firstUnsortedIndex;
+		}
+
+		/**
+		 * @return the value before and the value at the first unsorted index, empty when sorted
+		 */
+		public List<String> getUnsortedPair() {
+			List<String> pair = new ArrayList<>();
+			if (!isSorted()) {
+				pair.add(previous);
+				pair.add(current);
+			}
+			return pair;
+		}
+
+		@Override
+		public String toString() {
+			String expected = order.name().toLowerCase() + (ties == Ties.REJECTED ? " strictly" : "");
+			if (isSorted()) {
+				return String.format("%d values sorted %s", size, expected);
+			}
+			return String.format("%d values not sorted %s: \"%s\" at index %d after \"%s\"", size, expected, current, firstUnsortedIndex, previous);
+		}
+	}
+}
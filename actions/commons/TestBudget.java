@@ -0,0 +1,136 @@
+package commons;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the test running on the current thread: every wait of {@link WaitEngine} is shortened
+ * to the time left and charged to the budget, so a broken page fails the test once the budget is spent
+ * instead of stacking up LONG_TIMEOUT waits. Started and ended by BaseTest around each test method
+ */
+public class TestBudget {
+	private static final ThreadLocal<TestBudget> current = new ThreadLocal<>();
+
+	private final String testName;
+	private final long budgetSeconds;
+	private final long startNanos = System.nanoTime();
+	private final long deadlineNanos;
+	private final Map<String, Spent> spent = new LinkedHashMap<>();
+
+	private TestBudget(String testName, long budgetSeconds) {
+		this.testName = testName;
+		this.budgetSeconds = budgetSeconds;
+		this.deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(budgetSeconds);
+	}
+
+	/**
+	 * Start the budget of the test running on the current thread
+	 * @param testName name shown in the breakdown
+	 * @param budgetSeconds time the test may spend, 0 or less for no budget
+	 */
+	public static TestBudget start(String testName, long budgetSeconds) {
+		if (budgetSeconds <= 0) {
+			current.remove();
+			return null;
+		}
+		TestBudget budget = new TestBudget(testName, budgetSeconds);
+		current.set(budget);
+		return budget;
+	}
+
+	/**
+	 * @return budget of the current thread or null when the test has none
+	 */
+	public static TestBudget getCurrent() {
+		return current.get();
+	}
+
+	public static TestBudget end() {
+		TestBudget budget = current.get();
+		current.remove();
+		return budget;
+	}
+
+	/**
+	 * Shorten a wait to the budget left, fails at once when nothing is left
+	 * @param timeoutNanos timeout the wait asked for
+	 * @return timeout to use
+	 */
+	static long limit(long timeoutNanos) {
+		TestBudget budget = current.get();
+		if (budget == null) {
+			return timeoutNanos;
+		}
+		long remainingNanos = budget.getRemainingNanos();
+		if (remainingNanos <= 0) {
+			throw new TestBudgetExceededException(budget.getBreakdown(), null);
+		}
+		return Math.min(timeoutNanos, remainingNanos);
+	}
+
+	/**
+	 * Turn the timeout of a wait into a budget failure when the wait was cut by the budget
+	 * @param timeout timeout of the wait
+	 * @return exception to throw
+	 */
+	static RuntimeException onTimeout(RuntimeException timeout) {
+		TestBudget budget = current.get();
+		if (budget == null || budget.getRemainingNanos() > 0) {
+			return timeout;
+		}
+		return new TestBudgetExceededException(budget.getBreakdown(), timeout);
+	}
+
+	static void charge(String what, long millis) {
+		TestBudget budget = current.get();
+		if (budget != null) {
+			budget.spend(what, millis);
+		}
+	}
+
+	public long getRemainingNanos() {
+		return deadlineNanos - System.nanoTime();
+	}
+
+	public long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+
+	public long getBudgetSeconds() {
+		return budgetSeconds;
+	}
+
+	private synchronized void spend(String what, long millis) {
+		spent.computeIfAbsent(what, key -> new Spent()).add(millis);
+	}
+
+	/**
+	 * Where the time went: waits and sleeps of the test, the longest first
+	 */
+	public synchronized String getBreakdown() {
+		List<Map.Entry<String, Spent>> entries = new ArrayList<>(spent.entrySet());
+		entries.sort((first, second) -> Long.compare(second.getValue().millis, first.getValue().millis));
+		long waitedMillis = 0;
+		StringBuilder lines = new StringBuilder();
+		for (Map.Entry<String, Spent> entry : entries) {
+			waitedMillis += entry.getValue().millis;
+			lines.append(System.lineSeparator()).append(String.format("  %8d ms %3dx %s", entry.getValue().millis, entry.getValue().count, entry.getKey()));
+		}
+		long elapsedMillis = getElapsedMillis();
+		return String.format("%s used %d ms of %d s, %d ms in waits and sleeps, %d ms in other commands", testName, elapsedMillis,
+				budgetSeconds, waitedMillis, Math.max(0, elapsedMillis - waitedMillis)) + lines;
+	}
+
+	private static class Spent {
+		private long millis;
+		private int count;
+
+		private void add(long spentMillis) {
+			millis += spentMillis;
+			count++;
+		}
+	}
+}
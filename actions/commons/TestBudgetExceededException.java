@@ -0,0 +1,10 @@
+package commons;
+
+import org.openqa.selenium.TimeoutException;
+
+public class TestBudgetExceededException extends TimeoutException {
+	private static final long serialVersionUID = 35421018;
+	public TestBudgetExceededException(String breakdown, Throwable cause) {
+		super(String.format("Test time budget exhausted: %s", breakdown), cause);
+	}
+}
@@ -0,0 +1,18 @@
+package commons;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Time budget of a test method or of every test of a class, see {@link TestBudget}
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface TimeBudget {
+	/**
+	 * Maximum time the test may spend, 0 for no budget
+	 */
+	long seconds();
+}
@@ -0,0 +1,547 @@
+package commons;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * Explicit wait of a driver, created once per driver instead of a new WebDriverWait per call.
+ * Timeout and polling can be overridden per call, and the time every wait blocked is counted.
+ * Waits never run past the {@link TestBudget} of the current test
+ */
+public class WaitEngine {
+	private static final Map<WebDriver, WaitEngine> engines = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final WaitStats suiteStats = new WaitStats();
+	private static final PropertiesConfig config = PropertiesConfig.getConfig();
+	private static final boolean TRACK_PAGE_ACTIVITY = config.getBoolean("wait.quiet.track", true);
+	/**
+	 * Checks the conditions again on every DOM mutation (batched per task) plus every 250 ms for changes
+	 * made by CSS only, or every 16 ms when the page has no MutationObserver. The page activity tracker
+	 * is installed by the same call, before the action which follows the wait
+	 */
+	private static final String IN_PAGE_WAIT_SCRIPT = (TRACK_PAGE_ACTIVITY ? PageActivityTracker.INSTALL : "")
+			+ "var conditions = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];"
+			+ "function snapshot(xpath) { return document.evaluate(xpath, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null); }"
+			+ "function first(xpath) { var found = snapshot(xpath); return found.snapshotLength ? found.snapshotItem(0) : null; }"
+			+ "function isVisible(el) { if (!el || !el.isConnected) return false; var style = getComputedStyle(el);"
+			+ " if (style.display === 'none' || style.visibility === 'hidden' || parseFloat(style.opacity) === 0) return false;"
+			+ " var rect = el.getBoundingClientRect(); return rect.width > 0 && rect.height > 0; }"
+			+ "function isClickable(el) { if (!isVisible(el) || el.disabled) return false; var rect = el.getBoundingClientRect();"
+			+ " var x = rect.left + rect.width / 2, y = rect.top + rect.height / 2;"
+			+ " if (x < 0 || y < 0 || x > innerWidth || y > innerHeight) return true;"
+			+ " var top = document.elementFromPoint(x, y); return !top || el === top || el.contains(top) || top.contains(el); }"
+			+ "function check(c) {"
+			+ " if (c.type === 'stale') return c.element.isConnected ? null : true;"
+			+ " var found = snapshot(c.xpath), el = found.snapshotLength ? found.snapshotItem(0) : null;"
+			+ " switch (c.type) {"
+			+ " case 'visible': return isVisible(el) ? el : null;"
+			+ " case 'invisible': for (var i = 0; i < found.snapshotLength; i++) { if (isVisible(found.snapshotItem(i))) return null; } return true;"
+			+ " case 'clickable': return isClickable(el) ? el : null;"
+			+ " case 'text': return el && (el.innerText || el.textContent || '').indexOf(c.text) >= 0 ? el : null;"
+			+ " case 'count': return found.snapshotLength >= c.count ? (el || true) : null;"
+			+ " case 'attribute': return el && el.getAttribute(c.name) === c.value ? el : null;"
+			+ " case 'changed': return c.changed || (el && el !== c.target) ? (el || true) : null; }"
+			+ " return null; }"
+			+ "var end = Date.now() + timeout, finished = false, scheduled = false, observers = [], timer = null;"
+			+ "function finish(result) { if (finished) return; finished = true; clearTimeout(timer);"
+			+ " observers.forEach(function (observer) { observer.disconnect(); }); done(result); }"
+			+ "function evaluate() { scheduled = false; if (finished) return; try { var result = null, met = true;"
+			+ " for (var i = 0; i < conditions.length; i++) { var value = check(conditions[i]); if (!value) { met = false; break; } if (i === 0) result = value; }"
+			+ " if (met) { finish({met: true, element: result === true ? null : result}); return; }"
+			+ " } catch (e) { finish({met: false, error: String(e)}); return; }"
+			+ " if (Date.now() >= end) finish({met: false}); }"
+			+ "function schedule() { if (!scheduled) { scheduled = true; setTimeout(evaluate, 0); } }"
+			+ "var observe = { childList: true, subtree: true, attributes: true, characterData: true };"
+			+ "try { conditions.forEach(function (c) { if (c.type === 'changed') { c.target = first(c.xpath); c.changed = false;"
+			+ " if (c.target && window.MutationObserver) { var observer = new MutationObserver(function () { c.changed = true; schedule(); });"
+			+ " observer.observe(c.target, observe); observers.push(observer); } } });"
+			+ "} catch (e) { finish({met: false, error: String(e)}); }"
+			+ "if (window.MutationObserver) { var pageObserver = new MutationObserver(schedule); pageObserver.observe(document.documentElement, observe); observers.push(pageObserver); }"
+			+ "(function tick() { evaluate(); if (!finished) timer = setTimeout(tick, Math.max(0, Math.min(window.MutationObserver ? 250 : 16, end - Date.now()))); })();";
+
+	/**
+	 * Resolves true once the position and size of the element did not change for the stable window,
+	 * false when the maximum is reached first. Sampled every 16 ms so CSS transitions are seen too
+	 */
+	private static final String ELEMENT_STABLE_SCRIPT = "var el = arguments[0], stable = arguments[1], max = arguments[2], done = arguments[arguments.length - 1];"
+			+ "var start = Date.now(), last = null, since = start;"
+			+ "function geometry() { if (!el.isConnected) return 'detached'; var rect = el.getBoundingClientRect();"
+			+ " return [rect.left, rect.top, rect.width, rect.height].join(','); }"
+			+ "(function sample() { var now = Date.now(), current = geometry();"
+			+ " if (current !== last) { last = current; since = now; }"
+			+ " if (current !== 'detached' && now - since >= stable) { done(true); return; }"
+			+ " if (now - start >= max) { done(false); return; }"
+			+ " setTimeout(sample, 16); })();";
+
+	// Weak so the engines map does not keep quit drivers alive
+	private final WeakReference<WebDriver> driver;
+	private final long defaultTimeoutInSecond;
+	private final long defaultPollInMillis;
+	private final WaitStats stats = new WaitStats();
+	private final LocatorLatencyStats latencyStats = LocatorLatencyStats.getStats();
+	private long scriptTimeoutInSecond = -1;
+	private boolean inPageSupported = true;
+
+	public WaitEngine(WebDriver driver, long defaultTimeoutInSecond, long defaultPollInMillis) {
+		this.driver = new WeakReference<>(driver);
+		this.defaultTimeoutInSecond = defaultTimeoutInSecond;
+		this.defaultPollInMillis = defaultPollInMillis;
+	}
+
+	/**
+	 * Get the wait engine of the driver, created on the first call
+	 * @param driver
+	 * @return wait engine using GlobalConstants.LONG_TIMEOUT and a 500 ms polling by default
+	 */
+	public static WaitEngine getWaitEngine(WebDriver driver) {
+		return engines.computeIfAbsent(driver, key -> new WaitEngine(key, GlobalConstants.LONG_TIMEOUT, 500));
+	}
+
+	/**
+	 * Wait counters of every driver of the suite
+	 */
+	public static WaitStats getSuiteStats() {
+		return suiteStats;
+	}
+
+	/**
+	 * BasePage waits wait for DOM mutations in the page unless -Dwait.mode=poll
+	 */
+	public static boolean isEventMode() {
+		return !"poll".equals(config.getString("wait.mode", "event"));
+	}
+
+	public WaitStats getStats() {
+		return stats;
+	}
+
+	public <T> T until(Function<? super WebDriver, T> condition) {
+		return until(condition, defaultTimeoutInSecond, defaultPollInMillis);
+	}
+
+	public <T> T until(Function<? super WebDriver, T> condition, long timeoutInSecond) {
+		return until(condition, timeoutInSecond, defaultPollInMillis);
+	}
+
+	/**
+	 * Evaluate the condition until it returns a value other than null or false,
+	 * NotFoundException is ignored while polling like WebDriverWait does
+	 * @param condition condition to wait for, e.g. ExpectedConditions.visibilityOfElementLocated(by)
+	 * @param timeoutInSecond maximum time to wait
+	 * @param pollInMillis time between two evaluations
+	 * @return value returned by the condition
+	 */
+	public <T> T until(Function<? super WebDriver, T> condition, long timeoutInSecond, long pollInMillis) {
+		return poll(condition, timeoutInSecond, pollInMillis, pollInMillis, pollInMillis, null);
+	}
+
+	public <T> T untilAdaptive(String locatorKey, Function<? super WebDriver, T> condition) {
+		return untilAdaptive(locatorKey, condition, defaultTimeoutInSecond);
+	}
+
+	/**
+	 * Wait with a polling adapted to the history of the locator: check at once, then sleep through half of
+	 * the usual latency of the locator instead of polling it, then poll from the minimum interval and back off
+	 * exponentially up to a quarter of the usual latency. The time the condition took, halfway between the
+	 * last miss and the check which met it, is added to the history, so the sleeps do not inflate it
+	 * (disabled with -Dwait.adaptive=false)
+	 * @param locatorKey condition and locator template, e.g. "visible://button[@id='%s']"
+	 * @param condition condition to wait for
+	 * @param timeoutInSecond maximum time to wait
+	 * @return value returned by the condition
+	 */
+	public <T> T untilAdaptive(String locatorKey, Function<? super WebDriver, T> condition, long timeoutInSecond) {
+		if (!config.getBoolean("wait.adaptive", true)) {
+			return until(condition, timeoutInSecond);
+		}
+		long minPollMillis = config.getLong("wait.adaptive.minPollMillis", 50);
+		long maxPollMillis = config.getLong("wait.adaptive.maxPollMillis", 1000);
+		long expectedMillis = latencyStats.getExpectedMillis(locatorKey);
+		long firstDelayMillis = Math.max(minPollMillis, expectedMillis / 2);
+		long maxBackOffMillis = expectedMillis > 0 ? Math.min(maxPollMillis, Math.max(minPollMillis, expectedMillis / 4)) : maxPollMillis;
+		return poll(condition, timeoutInSecond, firstDelayMillis, minPollMillis, maxBackOffMillis, latencyMillis -> latencyStats.record(locatorKey, latencyMillis));
+	}
+
+	/**
+	 * @param firstDelayInMillis sleep after the first check
+	 * @param pollInMillis sleep after the second check, doubled after every next check up to maxPollInMillis
+	 * @param latencyListener told the estimated time the condition took to be met, may be null
+	 */
+	private <T> T poll(Function<? super WebDriver, T> condition, long timeoutInSecond, long firstDelayInMillis, long pollInMillis, long maxPollInMillis,
+			LongConsumer latencyListener) {
+		long start = System.nanoTime();
+		long deadline = start + TestBudget.limit(TimeUnit.SECONDS.toNanos(timeoutInSecond));
+		long delay = firstDelayInMillis;
+		long nextDelay = pollInMillis;
+		long lastMiss = -1;
+		RuntimeException lastException = null;
+		while (true) {
+			try {
+				T value = condition.apply(driver.get());
+				if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+					record(start, false, condition.toString());
+					if (latencyListener != null) {
+						long met = System.nanoTime();
+						latencyListener.accept(TimeUnit.NANOSECONDS.toMillis((lastMiss < 0 ? met : (lastMiss + met) / 2) - start));
+					}
+					return value;
+				}
+				lastException = null;
+			} catch (NotFoundException e) {
+				lastException = e;
+			}
+			lastMiss = System.nanoTime();
+			long remainingNanos = deadline - System.nanoTime();
+			if (remainingNanos <= 0) {
+				record(start, true, condition.toString());
+				throw TestBudget.onTimeout(new TimeoutException(String.format("Expected condition failed: %s (tried for %d second(s) with %d milliseconds interval)",
+						condition, timeoutInSecond, pollInMillis), lastException));
+			}
+			try {
+				Thread.sleep(Math.min(delay, TimeUnit.NANOSECONDS.toMillis(remainingNanos) + 1));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				record(start, true, condition.toString());
+				throw new TimeoutException("Interrupted while waiting for " + condition, e);
+			}
+			delay = nextDelay;
+			nextDelay = Math.min(nextDelay * 2, maxPollInMillis);
+		}
+	}
+
+	/**
+	 * Wait until every condition is met, evaluated inside the page by one asynchronous script
+	 * which wakes up on DOM mutations instead of one WebDriver command per poll.
+	 * The script is started again when the page navigates while it runs, and the conditions
+	 * are polled through WebDriver when the driver cannot run asynchronous scripts
+	 * @param timeoutInSecond maximum time to wait
+	 * @param conditions conditions which must all be met
+	 * @return element of the first condition or null when it has no element (count, invisible, stale)
+	 */
+	@SuppressWarnings("unchecked")
+	public WebElement untilInPage(long timeoutInSecond, InPageCondition... conditions) {
+		WebDriver currentDriver = driver.get();
+		if (!inPageSupported || !(currentDriver instanceof JavascriptExecutor)) {
+			return untilPolled(timeoutInSecond, conditions);
+		}
+		List<Map<String, Object>> specs = new ArrayList<>();
+		for (InPageCondition condition : conditions) {
+			specs.add(condition.toSpec());
+		}
+		long start = System.nanoTime();
+		long deadline = start + TestBudget.limit(TimeUnit.SECONDS.toNanos(timeoutInSecond));
+		WebDriverException lastException = null;
+		long retryDelay = config.getLong("wait.adaptive.minPollMillis", 50);
+		while (true) {
+			long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMillis <= 0) {
+				record(start, true, "in page " + Arrays.toString(conditions));
+				throw TestBudget.onTimeout(new TimeoutException("In page condition failed: " + Arrays.toString(conditions) + " (tried for " + timeoutInSecond + " second(s))", lastException));
+			}
+			Object result;
+			try {
+				if (scriptTimeoutInSecond < timeoutInSecond + 1) {
+					currentDriver.manage().timeouts().setScriptTimeout(timeoutInSecond + 1, TimeUnit.SECONDS);
+					scriptTimeoutInSecond = timeoutInSecond + 1;
+				}
+				result = ((JavascriptExecutor) currentDriver).executeAsyncScript(IN_PAGE_WAIT_SCRIPT, specs, remainingMillis);
+			} catch (NoSuchSessionException | UnreachableBrowserException e) {
+				throw e;
+			} catch (UnsupportedCommandException e) {
+				inPageSupported = false;
+				return untilPolled(TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime()), conditions);
+			} catch (StaleElementReferenceException e) {
+				// The element of a stale condition is already detached (or the page navigated): Selenium cannot send it to the script
+				if (areAllStaleConditions(specs)) {
+					record(start, false, "in page " + Arrays.toString(conditions));
+					return null;
+				}
+				record(start, true, "in page " + Arrays.toString(conditions));
+				throw e;
+			} catch (WebDriverException e) {
+				if (!isPageUnload(e)) {
+					record(start, true, "in page " + Arrays.toString(conditions));
+					throw e;
+				}
+				lastException = e;
+				retryDelay = backOff(retryDelay, deadline, e);
+				continue;
+			}
+			if (!(result instanceof Map)) {
+				inPageSupported = false;
+				return untilPolled(TimeUnit.NANOSECONDS.toSeconds(deadline - System.nanoTime()), conditions);
+			}
+			Map<String, Object> outcome = (Map<String, Object>) result;
+			if (outcome.get("error") != null) {
+				record(start, true, "in page " + Arrays.toString(conditions));
+				throw new WebDriverException("In page condition " + Arrays.toString(conditions) + " failed: " + outcome.get("error"));
+			}
+			if (Boolean.TRUE.equals(outcome.get("met"))) {
+				record(start, false, "in page " + Arrays.toString(conditions));
+				return (WebElement) outcome.get("element");
+			}
+		}
+	}
+
+	/**
+	 * Install the page activity tracker into the document just loaded, so the requests the page starts after
+	 * its load are seen by {@link #untilPageQuiet(long, long)}. Called after navigations only, the in-page
+	 * waits install it at no cost before actions. Nothing is done when -Dwait.quiet.track=false,
+	 * a page which cannot run the script is left to untilPageQuiet
+	 */
+	public void trackPageActivity() {
+		WebDriver currentDriver = driver.get();
+		if (!TRACK_PAGE_ACTIVITY || !(currentDriver instanceof JavascriptExecutor)) {
+			return;
+		}
+		try {
+			((JavascriptExecutor) currentDriver).executeScript(PageActivityTracker.INSTALL);
+		} catch (NoSuchSessionException | UnreachableBrowserException e) {
+			throw e;
+		} catch (WebDriverException e) {
+			// e.g. the page is unloading, untilPageQuiet installs the tracker into the next document
+		}
+	}
+
+	/**
+	 * Wait until the page has been idle for the idle window: no XHR or fetch in flight, no pending timer
+	 * shorter than one second, no running finite animation, no DOM mutation, no active jQuery request and
+	 * document loaded. The tracker is started again when the page navigates while it waits
+	 * @param idleMillis how long the page must stay idle
+	 * @param timeoutInSecond maximum time to wait
+	 */
+	@SuppressWarnings("unchecked")
+	public void untilPageQuiet(long idleMillis, long timeoutInSecond) {
+		WebDriver currentDriver = driver.get();
+		if (!(currentDriver instanceof JavascriptExecutor)) {
+			return;
+		}
+		long start = System.nanoTime();
+		long deadline = start + TestBudget.limit(TimeUnit.SECONDS.toNanos(timeoutInSecond));
+		WebDriverException lastException = null;
+		Object lastResult = null;
+		long retryDelay = config.getLong("wait.adaptive.minPollMillis", 50);
+		while (true) {
+			long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+			if (remainingMillis <= 0) {
+				record(start, true, "page quiet");
+				throw TestBudget.onTimeout(new TimeoutException("Page not quiet for " + idleMillis + " ms: " + lastResult + " (tried for " + timeoutInSecond + " second(s))", lastException));
+			}
+			try {
+				if (scriptTimeoutInSecond < timeoutInSecond + 1) {
+					currentDriver.manage().timeouts().setScriptTimeout(timeoutInSecond + 1, TimeUnit.SECONDS);
+					scriptTimeoutInSecond = timeoutInSecond + 1;
+				}
+				lastResult = ((JavascriptExecutor) currentDriver).executeAsyncScript(PageActivityTracker.WAIT_QUIET_SCRIPT, idleMillis, remainingMillis);
+			} catch (NoSuchSessionException | UnreachableBrowserException | UnsupportedCommandException e) {
+				throw e;
+			} catch (WebDriverException e) {
+				if (!isPageUnload(e)) {
+					record(start, true, "page quiet");
+					throw e;
+				}
+				lastException = e;
+				retryDelay = backOff(retryDelay, deadline, e);
+				continue;
+			}
+			// A driver which does not return script results cannot track the page
+			if (!(lastResult instanceof Map) || Boolean.TRUE.equals(((Map<String, Object>) lastResult).get("quiet"))) {
+				record(start, false, "page quiet");
+				return;
+			}
+		}
+	}
+
+	private static boolean areAllStaleConditions(List<Map<String, Object>> specs) {
+		for (Map<String, Object> spec : specs) {
+			if (!"stale".equals(spec.get("type"))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Errors of an asynchronous script cut by the page unloading (navigation, reload, form submit),
+	 * the only errors worth starting the script again for
+	 */
+	private static boolean isPageUnload(WebDriverException e) {
+		String message = String.valueOf(e.getMessage()).toLowerCase();
+		return message.contains("unloaded") || message.contains("context was destroyed") || message.contains("cannot find context")
+				|| message.contains("context to be discarded");
+	}
+
+	/**
+	 * Sleep before starting a script again so a page that keeps navigating is not hammered
+	 * @param delayInMillis delay of this retry
+	 * @param deadline nano time of the end of the wait
+	 * @param cause error of the script
+	 * @return delay of the next retry
+	 */
+	private long backOff(long delayInMillis, long deadline, WebDriverException cause) {
+		try {
+			Thread.sleep(Math.max(0, Math.min(delayInMillis, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()))));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TimeoutException("Interrupted while waiting for the page to load", cause);
+		}
+		return Math.min(delayInMillis * 2, config.getLong("wait.adaptive.maxPollMillis", 1000));
+	}
+
+	/**
+	 * Bounded stability wait: wait until the element stops moving and resizing (scrolling, animation, layout shift)
+	 * @param element element to watch
+	 * @param stableMillis how long the geometry must stay the same
+	 * @param maxMillis maximum time to wait
+	 * @return true when the element became stable, false when the maximum was reached first
+	 */
+	public boolean untilStable(WebElement element, long stableMillis, long maxMillis) {
+		maxMillis = TimeUnit.NANOSECONDS.toMillis(TestBudget.limit(TimeUnit.MILLISECONDS.toNanos(maxMillis)));
+		WebDriver currentDriver = driver.get();
+		long start = System.nanoTime();
+		boolean stable;
+		if (currentDriver instanceof JavascriptExecutor) {
+			if (scriptTimeoutInSecond < TimeUnit.MILLISECONDS.toSeconds(maxMillis) + 1) {
+				scriptTimeoutInSecond = TimeUnit.MILLISECONDS.toSeconds(maxMillis) + 1;
+				currentDriver.manage().timeouts().setScriptTimeout(scriptTimeoutInSecond, TimeUnit.SECONDS);
+			}
+			stable = Boolean.TRUE.equals(((JavascriptExecutor) currentDriver).executeAsyncScript(ELEMENT_STABLE_SCRIPT, element, stableMillis, maxMillis));
+		} else {
+			stable = untilGeometryStable(element, stableMillis, maxMillis);
+		}
+		record(start, !stable, "element stable");
+		return stable;
+	}
+
+	private boolean untilGeometryStable(WebElement element, long stableMillis, long maxMillis) {
+		long start = System.currentTimeMillis();
+		String last = null;
+		long since = start;
+		while (true) {
+			long now = System.currentTimeMillis();
+			Rectangle rect = element.getRect();
+			String current = rect.getX() + "," + rect.getY() + "," + rect.getWidth() + "," + rect.getHeight();
+			if (!current.equals(last)) {
+				last = current;
+				since = now;
+			}
+			if (now - since >= stableMillis) {
+				return true;
+			}
+			if (now - start >= maxMillis) {
+				return false;
+			}
+			try {
+				Thread.sleep(config.getLong("wait.adaptive.minPollMillis", 50));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Fallback of untilInPage: every condition is checked through WebDriver commands
+	 */
+	private WebElement untilPolled(long timeoutInSecond, InPageCondition... conditions) {
+		List<Function<WebDriver, Object>> pollingConditions = new ArrayList<>();
+		for (InPageCondition condition : conditions) {
+			pollingConditions.add(condition.toPollingCondition(driver.get()));
+		}
+		Object result = until(new Function<WebDriver, Object>() {
+			@Override
+			public Object apply(WebDriver currentDriver) {
+				Object firstValue = null;
+				for (Function<WebDriver, Object> condition : pollingConditions) {
+					Object value = condition.apply(currentDriver);
+					if (value == null || Boolean.FALSE.equals(value)) {
+						return null;
+					}
+					if (firstValue == null) {
+						firstValue = value;
+					}
+				}
+				return firstValue;
+			}
+
+			@Override
+			public String toString() {
+				return Arrays.toString(conditions);
+			}
+		}, Math.max(timeoutInSecond, 1));
+		return result instanceof WebElement ? (WebElement) result : null;
+	}
+
+	private void record(long start, boolean timedOut, String what) {
+		long blockedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		TestBudget.charge(what, blockedMillis);
+		stats.record(blockedMillis, timedOut);
+		suiteStats.record(blockedMillis, timedOut);
+	}
+
+	/**
+	 * Number of waits and how long they blocked
+	 */
+	public static class WaitStats {
+		private final AtomicLong waitCount = new AtomicLong();
+		private final AtomicLong timeoutCount = new AtomicLong();
+		private final AtomicLong blockedMillis = new AtomicLong();
+		private final AtomicLong maxBlockedMillis = new AtomicLong();
+		private final AtomicLong lastBlockedMillis = new AtomicLong();
+
+		private void record(long blocked, boolean timedOut) {
+			waitCount.incrementAndGet();
+			if (timedOut) {
+				timeoutCount.incrementAndGet();
+			}
+			blockedMillis.addAndGet(blocked);
+			maxBlockedMillis.accumulateAndGet(blocked, Math::max);
+			lastBlockedMillis.set(blocked);
+		}
+
+		public long getWaitCount() {
+			return waitCount.get();
+		}
+
+		public long getTimeoutCount() {
+			return timeoutCount.get();
+		}
+
+		public long getBlockedMillis() {
+			return blockedMillis.get();
+		}
+
+		public long getMaxBlockedMillis() {
+			return maxBlockedMillis.get();
+		}
+
+		public long getLastBlockedMillis() {
+			return lastBlockedMillis.get();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%d waits blocked %d ms (max %d ms, %d timeouts)", getWaitCount(), getBlockedMillis(), getMaxBlockedMillis(), getTimeoutCount());
+		}
+	}
+}
@@ -1,5 +1,23 @@
 package factoryBrowser;
 
 public enum BrowserList {
-	CHROME, FIREFOX, IE, SAFARI, EDGE_LEGACY, EDGE_CHROMIUM, H_CHROME, H_FIREFOX, COC_COC, OPERA;  
+	CHROME, FIREFOX, IE, SAFARI, EDGE_LEGACY, EDGE_CHROMIUM, H_CHROME, H_FIREFOX, COC_COC, OPERA;
+	
+	/**
+	 * Get the browser by the name used in the suite XML ("chrome", "h_chrome", "coc coc", "edge"...)
+	 * @param browserName name of the browser
+	 * @return browser
+	 */
+	public static BrowserList fromName(String browserName) {
+		String name = browserName.trim().toUpperCase().replace(' ', '_').replace('-', '_');
+		if (name.equals("EDGE")) {
+			return EDGE_CHROMIUM;
+		}
+		for (BrowserList browser : values()) {
+			if (browser.name().equals(name)) {
+				return browser;
+			}
+		}
+		throw new BrowserNotSupportedException(browserName);
+	}
 }
@@ -0,0 +1,206 @@
+package factoryBrowser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+import commons.GlobalConstants;
+import commons.PropertiesConfig;
+
+/**
+ * Pool of warm browsers: browsers are spawned up front, leased to tests and reset
+ * (cookies, local/session storage, extra windows) when they are returned.
+ * A browser is recycled when it is older than the max age or has run more than the max commands.
+ */
+public class BrowserPool {
+	private static final Log log = LogFactory.getLog(BrowserPool.class);
+	private static final Map<String, BrowserPool> pools = new ConcurrentHashMap<>();
+
+	private final String browserName;
+	private final BrowserProfile profile;
+	private final int size;
+	private final long maxAgeMillis;
+	private final int maxCommands;
+	private final BlockingQueue<BrowserSession> idleBrowsers = new LinkedBlockingQueue<>();
+	private final Map<WebDriver, BrowserSession> leasedBrowsers = new ConcurrentHashMap<>();
+	private final AtomicInteger openBrowsers = new AtomicInteger();
+
+	public BrowserPool(String browserName, BrowserProfile profile, int size, long maxAgeMillis, int maxCommands) {
+		this.browserName = browserName;
+		this.profile = profile;
+		this.size = size;
+		this.maxAgeMillis = maxAgeMillis;
+		this.maxCommands = maxCommands;
+	}
+
+	public static BrowserPool getPool(String browserName) {
+		return getPool(browserName, BrowserProfile.DEFAULT);
+	}
+
+	/**
+	 * Get the shared pool of the browser and profile, sized by the configuration keys
+	 * browser.pool.size, browser.pool.maxAgeMinutes and browser.pool.maxCommands
+	 * @param browserName name of the browser
+	 * @param profile performance profile of the pooled browsers
+	 * @return pool of the browser
+	 */
+	public static BrowserPool getPool(String browserName, BrowserProfile profile) {
+		return pools.computeIfAbsent(browserName.toLowerCase() + "#" + profile, key -> new BrowserPool(browserName.toLowerCase(), profile,
+				PropertiesConfig.getConfig().getInt("browser.pool.size", Runtime.getRuntime().availableProcessors()),
+				TimeUnit.MINUTES.toMillis(PropertiesConfig.getConfig().getInt("browser.pool.maxAgeMinutes", 30)),
+				PropertiesConfig.getConfig().getInt("browser.pool.maxCommands", 5000)));
+	}
+
+	/**
+	 * Find the pool the driver was leased from
+	 * @param driver leased driver
+	 * @return pool of the driver or null if the driver is not pooled
+	 */
+	public static BrowserPool getPoolOf(WebDriver driver) {
+		for (BrowserPool pool : pools.values()) {
+			if (pool.isLeased(driver)) {
+				return pool;
+			}
+		}
+		return null;
+	}
+
+	public static void shutdownAll() {
+		for (BrowserPool pool : pools.values()) {
+			pool.shutdown();
+		}
+		pools.clear();
+	}
+
+	/**
+	 * Spawn browsers in parallel until the pool is full
+	 */
+	public void warmUp() {
+		List<Thread> starters = new ArrayList<>();
+		while (reserveSlot()) {
+			Thread starter = new Thread(() -> {
+				try {
+					idleBrowsers.add(spawn());
+				} catch (RuntimeException e) {
+					openBrowsers.decrementAndGet();
+					log.info("Cannot warm up " + browserName + ": " + e.getMessage());
+				}
+			}, "browser-pool-" + browserName);
+			starter.start();
+			starters.add(starter);
+		}
+		for (Thread starter : starters) {
+			try {
+				starter.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Lease a browser, spawning a new one when the pool is not full
+	 * or waiting for a browser to be released otherwise
+	 * @param timeoutInSecond maximum time to wait for a browser
+	 * @return leased driver
+	 */
+	public WebDriver lease(long timeoutInSecond) {
+		BrowserSession browser = idleBrowsers.poll();
+		if (browser == null && reserveSlot()) {
+			try {
+				browser = spawn();
+			} catch (RuntimeException e) {
+				openBrowsers.decrementAndGet();
+				throw e;
+			}
+		}
+		if (browser == null) {
+			try {
+				browser = idleBrowsers.poll(timeoutInSecond, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (browser == null) {
+			throw new IllegalStateException("No " + browserName + " browser released within " + timeoutInSecond + " seconds");
+		}
+		leasedBrowsers.put(browser.getDriver(), browser);
+		return browser.getDriver();
+	}
+
+	/**
+	 * Return the browser to the pool: reset its state or quit it when it must be recycled
+	 * @param driver leased driver
+	 */
+	public void release(WebDriver driver) {
+		BrowserSession browser = leasedBrowsers.remove(driver);
+		if (browser == null) {
+			throw new IllegalArgumentException("Driver was not leased from the " + browserName + " pool");
+		}
+		if (browser.getAgeMillis() > maxAgeMillis || browser.getCommandCount() > maxCommands) {
+			log.info("Recycle " + browserName + " browser after " + browser.getCommandCount() + " commands");
+			discard(browser);
+			return;
+		}
+		try {
+			browser.reset();
+			idleBrowsers.add(browser);
+		} catch (RuntimeException e) {
+			log.info("Cannot reset " + browserName + " browser, discard it: " + e.getMessage());
+			discard(browser);
+		}
+	}
+
+	public boolean isLeased(WebDriver driver) {
+		return leasedBrowsers.containsKey(driver);
+	}
+
+	public void shutdown() {
+		List<BrowserSession> browsers = new ArrayList<>(leasedBrowsers.values());
+		leasedBrowsers.clear();
+		idleBrowsers.drainTo(browsers);
+		for (BrowserSession browser : browsers) {
+			discard(browser);
+		}
+	}
+
+	private boolean reserveSlot() {
+		int open;
+		do {
+			open = openBrowsers.get();
+			if (open >= size) {
+				return false;
+			}
+		} while (!openBrowsers.compareAndSet(open, open + 1));
+		return true;
+	}
+
+	private BrowserSession spawn() {
+		return new BrowserSession(new EventFiringWebDriver(new LocalFactory(browserName, profile).createDriver()));
+	}
+
+	private void discard(BrowserSession browser) {
+		openBrowsers.decrementAndGet();
+		WebDriver wrappedDriver = browser.getDriver().getWrappedDriver();
+		if (DriverProcessTracker.getTracker().isTracked(wrappedDriver)) {
+			DriverProcessTracker.getTracker().terminate(wrappedDriver, GlobalConstants.SHORT_TIMEOUT);
+			return;
+		}
+		try {
+			browser.getDriver().quit();
+		} catch (Exception e) {
+			log.info(e.getMessage());
+		}
+	}
+}
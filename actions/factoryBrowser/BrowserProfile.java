@@ -0,0 +1,120 @@
+package factoryBrowser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.CapabilityType;
+
+/**
+ * Named performance profiles for the browser factories, selected with the "profile" parameter
+ * of the suite XML (e.g. fast-headless) or -Dbrowser.profile
+ */
+public enum BrowserProfile {
+	DEFAULT(PageLoadStrategy.NORMAL, false, false, 0, 0),
+	FAST(PageLoadStrategy.EAGER, false, true, 0, 0),
+	FAST_HEADLESS(PageLoadStrategy.EAGER, true, true, 1280, 800);
+
+	private final PageLoadStrategy pageLoadStrategy;
+	private final boolean headless;
+	private final boolean lightweight;
+	private final int windowWidth;
+	private final int windowHeight;
+
+	BrowserProfile(PageLoadStrategy pageLoadStrategy, boolean headless, boolean lightweight, int windowWidth, int windowHeight) {
+		this.pageLoadStrategy = pageLoadStrategy;
+		this.headless = headless;
+		this.lightweight = lightweight;
+		this.windowWidth = windowWidth;
+		this.windowHeight = windowHeight;
+	}
+
+	/**
+	 * Get the profile by its name in the suite XML, e.g. "fast-headless"
+	 * @param profileName name of the profile, null or empty for the default profile
+	 * @return browser profile
+	 */
+	public static BrowserProfile fromName(String profileName) {
+		if (profileName == null || profileName.trim().isEmpty()) {
+			return DEFAULT;
+		}
+		String name = profileName.trim().toUpperCase().replace('-', '_').replace(' ', '_');
+		for (BrowserProfile profile : values()) {
+			if (profile.name().equals(name)) {
+				return profile;
+			}
+		}
+		throw new IllegalArgumentException("Browser profile not supported: " + profileName + ", use one of " + Arrays.toString(values()));
+	}
+
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	/**
+	 * Profiles with a fixed viewport must not be maximized after the browser starts
+	 */
+	public boolean hasFixedViewport() {
+		return windowWidth > 0 && windowHeight > 0;
+	}
+
+	/**
+	 * Apply the profile to Chrome and Coc Coc
+	 * @param options browser options
+	 * @param prefs preferences map, set by the caller as the "prefs" experimental option
+	 */
+	public void applyTo(ChromeOptions options, Map<String, Object> prefs) {
+		options.setPageLoadStrategy(pageLoadStrategy);
+		options.addArguments(getChromiumArguments());
+		if (lightweight) {
+			prefs.put("profile.managed_default_content_settings.images", 2);
+		}
+	}
+
+	/**
+	 * Command line switches of the profile for Chromium based browsers
+	 * @return list of switches
+	 */
+	public List<String> getChromiumArguments() {
+		List<String> arguments = new ArrayList<>();
+		if (headless) {
+			arguments.add("--headless");
+		}
+		if (lightweight) {
+			arguments.addAll(Arrays.asList("--disable-extensions", "--disable-gpu", "--disable-remote-fonts", "--blink-settings=imagesEnabled=false"));
+		}
+		if (hasFixedViewport()) {
+			arguments.add("--window-size=" + windowWidth + "," + windowHeight);
+		}
+		return arguments;
+	}
+
+	public void applyTo(FirefoxOptions options) {
+		options.setPageLoadStrategy(pageLoadStrategy);
+		if (headless) {
+			options.setHeadless(true);
+		}
+		if (lightweight) {
+			options.addPreference("permissions.default.image", 2);
+			options.addPreference("gfx.downloadable_fonts.enabled", false);
+			options.addPreference("layers.acceleration.disabled", true);
+			options.addPreference("extensions.enabledScopes", 0);
+		}
+		if (hasFixedViewport()) {
+			options.addArguments("--width=" + windowWidth, "--height=" + windowHeight);
+		}
+	}
+
+	/**
+	 * Apply what every browser supports (the page load strategy) to the other browsers
+	 * @param capabilities browser options
+	 */
+	public void applyTo(MutableCapabilities capabilities) {
+		capabilities.setCapability(CapabilityType.PAGE_LOAD_STRATEGY, pageLoadStrategy.toString());
+	}
+}
@@ -0,0 +1,144 @@
+package factoryBrowser;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.AbstractWebDriverEventListener;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+/**
+ * Browser shared by several tests: counts the commands it runs and the origins it visits,
+ * so it can be reset to a clean state before the next test uses it
+ */
+class BrowserSession extends AbstractWebDriverEventListener {
+	private final EventFiringWebDriver driver;
+	private final long createdAt = System.currentTimeMillis();
+	private final AtomicInteger commands = new AtomicInteger();
+	private final Set<String> visitedOrigins = new LinkedHashSet<>();
+
+	BrowserSession(EventFiringWebDriver driver) {
+		this.driver = driver;
+		this.driver.register(this);
+	}
+
+	EventFiringWebDriver getDriver() {
+		return driver;
+	}
+
+	long getAgeMillis() {
+		return System.currentTimeMillis() - createdAt;
+	}
+
+	int getCommandCount() {
+		return commands.get();
+	}
+
+	/**
+	 * Close extra windows, then clear cookies and storage of every origin the test visited
+	 * (cookies can only be deleted for the origin of the current page)
+	 */
+	void reset() {
+		String homeWindow = driver.getWindowHandles().iterator().next();
+		for (String window : driver.getWindowHandles()) {
+			if (!window.equals(homeWindow)) {
+				driver.switchTo().window(window);
+				driver.close();
+			}
+		}
+		driver.switchTo().window(homeWindow);
+		addOrigin(driver.getCurrentUrl());
+		String currentOrigin = getOrigin(driver.getCurrentUrl());
+		for (String origin : new ArrayList<>(visitedOrigins)) {
+			if (!origin.equals(currentOrigin)) {
+				driver.get(origin);
+			}
+			clearCurrentOrigin();
+			currentOrigin = null;
+		}
+		driver.get("about:blank");
+		visitedOrigins.clear();
+	}
+
+	private void clearCurrentOrigin() {
+		driver.manage().deleteAllCookies();
+		((JavascriptExecutor) driver).executeScript("try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+	}
+
+	private void addOrigin(String url) {
+		String origin = getOrigin(url);
+		if (origin != null) {
+			synchronized (visitedOrigins) {
+				visitedOrigins.add(origin);
+			}
+		}
+	}
+
+	private String getOrigin(String url) {
+		try {
+			URL parsedUrl = new URL(url);
+			if (!parsedUrl.getProtocol().startsWith("http")) {
+				return null;
+			}
+			return parsedUrl.getProtocol() + "://" + parsedUrl.getAuthority() + "/";
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	@Override
+	public void beforeNavigateTo(String url, WebDriver driver) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void afterNavigateTo(String url, WebDriver driver) {
+		addOrigin(url);
+	}
+
+	@Override
+	public void beforeNavigateBack(WebDriver driver) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void beforeNavigateForward(WebDriver driver) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void beforeNavigateRefresh(WebDriver driver) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void beforeFindBy(By by, WebElement element, WebDriver driver) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void beforeClickOn(WebElement element, WebDriver driver) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void beforeChangeValueOf(WebElement element, WebDriver driver, CharSequence[] keysToSend) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void beforeScript(String script, WebDriver driver) {
+		commands.incrementAndGet();
+	}
+
+	@Override
+	public void beforeGetText(WebElement element, WebDriver driver) {
+		commands.incrementAndGet();
+	}
+}
@@ -5,17 +5,31 @@ import java.util.HashMap;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 
 import commons.GlobalConstants;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
 
 public class ChromeDriverManager implements BrowserFactory {
+	protected final BrowserProfile profile;
+	
+	public ChromeDriverManager() {
+		this(BrowserProfile.DEFAULT);
+	}
+	
+	public ChromeDriverManager(BrowserProfile profile) {
+		this.profile = profile;
+	}
 
 	@Override
 	public WebDriver getBrowserDriver() {
-		// TODO Auto-generated method stub
-		WebDriverManager.chromedriver().setup();
+		DriverBinaryResolver.getResolver().resolve(DriverManagerType.CHROME);
+		ChromeDriverService service = ChromeDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new ChromeDriver(service, getOptions()), service);
+	}
+	
+	protected ChromeOptions getOptions() {
 		ChromeOptions options = new ChromeOptions();
 		options.setExperimentalOption("useAutomationExtension", false);
 		options.setExperimentalOption("excludeSwitches", Collections.singletonList("enable-automation"));
@@ -25,7 +39,9 @@ public class ChromeDriverManager implements BrowserFactory {
 		HashMap<String, Object> chromePrefs = new HashMap<String, Object>();
 		chromePrefs.put("profile.default_content_settings.popups", 0);
 		chromePrefs.put("download.default_directory", GlobalConstants.DOWNLOAD_FOLDER_PATH);
-		return new ChromeDriver(options);
+		profile.applyTo(options, chromePrefs);
+		options.setExperimentalOption("prefs", chromePrefs);
+		return options;
 	}
 
 }
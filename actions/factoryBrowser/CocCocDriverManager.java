@@ -0,0 +1,31 @@
+package factoryBrowser;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
+public class CocCocDriverManager extends ChromeDriverManager {
+	private static final String CHROME_VERSION = "93.0.4577.63";
+	private static final String BROWSER_PATH = "C:\\Program Files (x86)\\CocCoc\\Browser\\Application\\browser.exe";
+	
+	public CocCocDriverManager(BrowserProfile profile) {
+		super(profile);
+	}
+
+	@Override
+	public WebDriver getBrowserDriver() {
+		DriverBinaryResolver.getResolver().resolve(DriverManagerType.CHROME, CHROME_VERSION);
+		ChromeDriverService service = ChromeDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new ChromeDriver(service, getOptions()), service);
+	}
+	
+	@Override
+	protected ChromeOptions getOptions() {
+		ChromeOptions options = super.getOptions();
+		options.setBinary(BROWSER_PATH);
+		return options;
+	}
+}
@@ -0,0 +1,171 @@
+package factoryBrowser;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import commons.GlobalConstants;
+import commons.PropertiesConfig;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
+/**
+ * Resolve the driver binary of each browser once per JVM. Resolved binaries are kept in a local index
+ * (driverBrowsers/driver-index.properties) so later runs skip WebDriverManager entirely,
+ * and with -Ddriver.offline=true the index is the only source (air-gapped runners).
+ * An entry is dropped with {@link #invalidate(DriverManagerType)} when the browser no longer accepts its driver (browser update).
+ */
+public class DriverBinaryResolver {
+	private static final Log log = LogFactory.getLog(DriverBinaryResolver.class);
+	private static final String INDEX_PATH = GlobalConstants.PROJECT_PATH + File.separator + "driverBrowsers" + File.separator + "driver-index.properties";
+	private static final DriverBinaryResolver resolver = new DriverBinaryResolver(new File(PropertiesConfig.getConfig().getString("driver.index", INDEX_PATH)));
+
+	private final File indexFile;
+	private final Properties index = new Properties();
+	private final Map<String, String> resolvedPaths = new ConcurrentHashMap<>();
+	// Driver types whose index entry was dropped, WebDriverManager must not reuse its cached resolution either
+	private final Set<DriverManagerType> invalidatedTypes = ConcurrentHashMap.newKeySet();
+	private final String platform = System.getProperty("os.name").toLowerCase().replaceAll("[^a-z]", "") + "." + System.getProperty("os.arch");
+
+	public DriverBinaryResolver(File indexFile) {
+		this.indexFile = indexFile;
+		if (indexFile.isFile()) {
+			try (Reader reader = new FileReader(indexFile)) {
+				index.load(reader);
+			} catch (IOException e) {
+				log.info("Cannot read driver index " + indexFile + ": " + e.getMessage());
+			}
+		}
+	}
+
+	public static DriverBinaryResolver getResolver() {
+		return resolver;
+	}
+
+	/**
+	 * Resolve the latest driver binary matching the installed browser
+	 * @param driverType browser driver type
+	 * @return path of the driver binary
+	 */
+	public String resolve(DriverManagerType driverType) {
+		return resolve(driverType, null);
+	}
+
+	/**
+	 * Resolve the driver binary, download it only when it is not in the local index yet
+	 * @param driverType browser driver type
+	 * @param driverVersion fixed driver version or null for the one matching the browser
+	 * @return path of the driver binary
+	 */
+	public String resolve(DriverManagerType driverType, String driverVersion) {
+		String key = platform + "." + driverType.name() + (driverVersion == null ? "" : "." + driverVersion);
+		String driverPath = resolvedPaths.computeIfAbsent(key, indexKey -> lookup(indexKey, driverType, driverVersion));
+		exportDriverPath(driverType, driverPath);
+		return driverPath;
+	}
+
+	private String lookup(String key, DriverManagerType driverType, String driverVersion) {
+		String indexedPath = index.getProperty(key + ".path");
+		if (indexedPath != null && new File(indexedPath).canExecute()) {
+			log.info("Use indexed " + driverType + " driver " + index.getProperty(key + ".version") + " at " + indexedPath);
+			return indexedPath;
+		}
+		if (PropertiesConfig.getConfig().getBoolean("driver.offline", false)) {
+			throw new IllegalStateException("No " + driverType + " driver in " + indexFile + " for offline run, seed the index with key " + key + ".path");
+		}
+
+		WebDriverManager manager = WebDriverManager.getInstance(driverType);
+		if (invalidatedTypes.remove(driverType)) {
+			manager.clearResolutionCache();
+		}
+		if (driverVersion != null) {
+			manager.driverVersion(driverVersion);
+		}
+		String cachePath = PropertiesConfig.getConfig().getString("driver.cache.path");
+		if (cachePath != null) {
+			manager.cachePath(cachePath);
+		}
+		manager.setup();
+		String driverPath = manager.getDownloadedDriverPath();
+		if (driverPath == null) {
+			throw new IllegalStateException("WebDriverManager could not resolve the " + driverType + " driver");
+		}
+		saveToIndex(key, driverPath, manager.getDownloadedDriverVersion());
+		return driverPath;
+	}
+
+	/**
+	 * Drop the resolved and indexed binaries of the driver type, the next resolve asks WebDriverManager again
+	 * @param driverType browser driver type whose driver does not match the installed browser
+	 * @return false when nothing can be resolved again (offline run)
+	 */
+	public synchronized boolean invalidate(DriverManagerType driverType) {
+		if (PropertiesConfig.getConfig().getBoolean("driver.offline", false)) {
+			return false;
+		}
+		String prefix = platform + "." + driverType.name() + ".";
+		resolvedPaths.keySet().removeIf(key -> (key + ".").startsWith(prefix));
+		index.stringPropertyNames().stream().filter(key -> key.startsWith(prefix)).forEach(index::remove);
+		invalidatedTypes.add(driverType);
+		log.info("Dropped indexed " + driverType + " driver, it will be resolved again");
+		store();
+		return true;
+	}
+
+	private synchronized void saveToIndex(String key, String driverPath, String driverVersion) {
+		index.setProperty(key + ".path", driverPath);
+		if (driverVersion != null) {
+			index.setProperty(key + ".version", driverVersion);
+		}
+		store();
+	}
+
+	private synchronized void store() {
+		try {
+			File parent = indexFile.getAbsoluteFile().getParentFile();
+			parent.mkdirs();
+			File tempFile = File.createTempFile("driver-index", ".properties", parent);
+			try (Writer writer = new FileWriter(tempFile)) {
+				index.store(writer, "Driver binaries resolved by DriverBinaryResolver");
+			}
+			Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			log.info("Cannot save driver index " + indexFile + ": " + e.getMessage());
+		}
+	}
+
+	private void exportDriverPath(DriverManagerType driverType, String driverPath) {
+		switch (driverType) {
+		case CHROME:
+		case CHROMIUM:
+			System.setProperty("webdriver.chrome.driver", driverPath);
+			break;
+		case FIREFOX:
+			System.setProperty("webdriver.gecko.driver", driverPath);
+			break;
+		case EDGE:
+			System.setProperty("webdriver.edge.driver", driverPath);
+			break;
+		case OPERA:
+			System.setProperty("webdriver.opera.driver", driverPath);
+			break;
+		case IEXPLORER:
+			System.setProperty("webdriver.ie.driver", driverPath);
+			break;
+		default:
+			break;
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package factoryBrowser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+/**
+ * Keep the driver service and driver process of every local session, so a session is torn down
+ * on its own (graceful quit with timeout, then kill of its process tree) without touching
+ * the sessions of sibling parallel tests, and report orphaned processes at the end of the suite
+ */
+public class DriverProcessTracker {
+	private static final Log log = LogFactory.getLog(DriverProcessTracker.class);
+	private static final DriverProcessTracker tracker = new DriverProcessTracker();
+	private static final List<String> DRIVER_PROCESS_NAMES = Arrays.asList("chromedriver", "geckodriver", "msedgedriver", "microsoftwebdriver",
+			"operadriver", "iedriverserver", "chrome", "chromium", "firefox", "msedge", "opera", "browser");
+
+	private final Map<WebDriver, TrackedSession> sessions = new ConcurrentHashMap<>();
+
+	private DriverProcessTracker() {
+	}
+
+	public static DriverProcessTracker getTracker() {
+		return tracker;
+	}
+
+	/**
+	 * Register the session with the service which started it
+	 * @param driver driver created with the service
+	 * @param service started driver service
+	 * @return the driver
+	 */
+	public <T extends WebDriver> T track(T driver, DriverService service) {
+		ProcessHandle process = findServiceProcess(service).orElse(null);
+		if (process == null) {
+			log.info("Driver process of " + service.getUrl() + " not found, only the service will be stopped on teardown");
+		}
+		sessions.put(driver, new TrackedSession(service, process));
+		return driver;
+	}
+
+	public boolean isTracked(WebDriver driver) {
+		return sessions.containsKey(driver);
+	}
+
+	/**
+	 * Quit the session, stop its service and kill what is left of its process tree
+	 * @param driver tracked driver
+	 * @param timeoutInSecond maximum time for the graceful quit
+	 */
+	public void terminate(WebDriver driver, long timeoutInSecond) {
+		TrackedSession session = sessions.remove(driver);
+		List<ProcessHandle> processTree = session == null ? new ArrayList<>() : session.getProcessTree();
+
+		CompletableFuture<Void> quit = CompletableFuture.runAsync(driver::quit);
+		try {
+			quit.get(timeoutInSecond, TimeUnit.SECONDS);
+		} catch (TimeoutException e) {
+			log.info("Driver did not quit within " + timeoutInSecond + " seconds, kill its processes");
+		} catch (ExecutionException e) {
+			log.info("Driver quit failed: " + e.getCause().getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (session != null && session.service.isRunning()) {
+			session.service.stop();
+		}
+		kill(processTree, timeoutInSecond);
+	}
+
+	/**
+	 * Resident memory of the driver and every browser process it started,
+	 * read from /proc so it is only known on Linux
+	 * @param driver tracked driver
+	 * @return memory in bytes or -1 when it cannot be measured
+	 */
+	public long getMemoryUsage(WebDriver driver) {
+		TrackedSession session = sessions.get(driver);
+		if (session == null || session.process == null || !new File("/proc").isDirectory()) {
+			return -1;
+		}
+		long memory = 0;
+		for (ProcessHandle process : session.getProcessTree()) {
+			memory += getResidentMemory(process);
+		}
+		return memory;
+	}
+
+	/**
+	 * Sessions never terminated and browser/driver processes still running under this JVM
+	 * @return description of every leaked session or process
+	 */
+	public List<String> findLeaks() {
+		List<String> leaks = new ArrayList<>();
+		// Sessions quit directly with driver.quit() stopped their service already
+		sessions.values().removeIf(session -> !session.service.isRunning() && (session.process == null || !session.process.isAlive()));
+		for (TrackedSession session : sessions.values()) {
+			leaks.add("Session never closed: " + session.service.getUrl() + " " + describe(session.process));
+		}
+		List<ProcessHandle> orphans = ProcessHandle.current().descendants()
+				.filter(ProcessHandle::isAlive)
+				.filter(this::isDriverOrBrowser)
+				.collect(Collectors.toList());
+		for (ProcessHandle orphan : orphans) {
+			leaks.add("Process still running: " + describe(orphan));
+		}
+		return leaks;
+	}
+
+	/**
+	 * Terminate every session still tracked, used at the end of the suite
+	 * @param timeoutInSecond maximum time for each graceful quit
+	 */
+	public void terminateAll(long timeoutInSecond) {
+		for (WebDriver driver : new ArrayList<>(sessions.keySet())) {
+			terminate(driver, timeoutInSecond);
+		}
+	}
+
+	private void kill(List<ProcessHandle> processTree, long timeoutInSecond) {
+		for (ProcessHandle process : processTree) {
+			if (process.isAlive()) {
+				process.destroy();
+			}
+		}
+		for (ProcessHandle process : processTree) {
+			try {
+				process.onExit().get(timeoutInSecond, TimeUnit.SECONDS);
+			} catch (Exception e) {
+				log.info("Force kill " + describe(process));
+				process.destroyForcibly();
+			}
+		}
+	}
+
+	/**
+	 * Find the driver process among the children of this JVM by its --port argument. Without a match
+	 * (arguments are hidden on some OS) no process is claimed: guessing could claim the driver of a
+	 * parallel or pooled session and kill it on teardown
+	 */
+	private Optional<ProcessHandle> findServiceProcess(DriverService service) {
+		String portArgument = "--port=" + service.getUrl().getPort();
+		return ProcessHandle.current().children()
+				.filter(ProcessHandle::isAlive)
+				.filter(child -> child.info().commandLine().map(command -> command.contains(portArgument)).orElse(false))
+				.findFirst();
+	}
+
+	private boolean isDriverOrBrowser(ProcessHandle process) {
+		String command = process.info().command().orElse("").toLowerCase();
+		String executable = command.substring(Math.max(command.lastIndexOf('/'), command.lastIndexOf('\\')) + 1).replace(".exe", "");
+		return DRIVER_PROCESS_NAMES.contains(executable);
+	}
+
+	private long getResidentMemory(ProcessHandle process) {
+		try {
+			for (String line : Files.readAllLines(Paths.get("/proc", String.valueOf(process.pid()), "status"))) {
+				if (line.startsWith("VmRSS:")) {
+					return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+				}
+			}
+		} catch (IOException | NumberFormatException e) {
+			// Process exited while it was measured
+		}
+		return 0;
+	}
+
+	private String describe(ProcessHandle process) {
+		if (process == null) {
+			return "(process unknown)";
+		}
+		return "pid " + process.pid() + " " + process.info().command().orElse("");
+	}
+
+	private static class TrackedSession {
+		private final DriverService service;
+		private final ProcessHandle process;
+
+		private TrackedSession(DriverService service, ProcessHandle process) {
+			this.service = service;
+			this.process = process;
+		}
+
+		/**
+		 * Browsers first, then the driver itself, so no browser is left without its parent
+		 */
+		private List<ProcessHandle> getProcessTree() {
+			List<ProcessHandle> processTree = new ArrayList<>();
+			if (process != null) {
+				processTree.addAll(process.descendants().collect(Collectors.toList()));
+				processTree.add(process);
+			}
+			return processTree;
+		}
+	}
+}
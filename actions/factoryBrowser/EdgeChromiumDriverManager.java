@@ -0,0 +1,38 @@
+package factoryBrowser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+
+import commons.GlobalConstants;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
+public class EdgeChromiumDriverManager implements BrowserFactory {
+	private final BrowserProfile profile;
+	
+	public EdgeChromiumDriverManager(BrowserProfile profile) {
+		this.profile = profile;
+	}
+
+	@Override
+	public WebDriver getBrowserDriver() {
+		DriverBinaryResolver.getResolver().resolve(DriverManagerType.EDGE);
+		EdgeOptions options = new EdgeOptions();
+		profile.applyTo(options);
+		
+		// Selenium 3 EdgeOptions has no Chromium switches, msedgedriver reads them from ms:edgeOptions
+		Map<String, Object> prefs = new HashMap<String, Object>();
+		prefs.put("download.default_directory", GlobalConstants.DOWNLOAD_FOLDER_PATH);
+		Map<String, Object> edgeOptions = new HashMap<String, Object>();
+		edgeOptions.put("args", profile.getChromiumArguments());
+		edgeOptions.put("prefs", prefs);
+		options.setCapability("ms:edgeOptions", edgeOptions);
+		
+		EdgeDriverService service = EdgeDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new EdgeDriver(service, options), service);
+	}
+}
@@ -0,0 +1,23 @@
+package factoryBrowser;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+
+public class EdgeLegacyDriverManager implements BrowserFactory {
+	private final BrowserProfile profile;
+	
+	public EdgeLegacyDriverManager(BrowserProfile profile) {
+		this.profile = profile;
+	}
+
+	@Override
+	public WebDriver getBrowserDriver() {
+		// MicrosoftWebDriver ships with Windows, it is found on the PATH
+		EdgeOptions options = new EdgeOptions();
+		profile.applyTo(options);
+		EdgeDriverService service = EdgeDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new EdgeDriver(service, options), service);
+	}
+}
@@ -3,15 +3,30 @@ package factoryBrowser;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 
 import commons.GlobalConstants;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
 
 public class FirefoxDriverManager implements BrowserFactory {
+	protected final BrowserProfile profile;
+	
+	public FirefoxDriverManager() {
+		this(BrowserProfile.DEFAULT);
+	}
+	
+	public FirefoxDriverManager(BrowserProfile profile) {
+		this.profile = profile;
+	}
+	
 	@Override
 	public WebDriver getBrowserDriver() {
-		// TODO Auto-generated method stub
-		WebDriverManager.firefoxdriver().setup();
+		DriverBinaryResolver.getResolver().resolve(DriverManagerType.FIREFOX);
+		GeckoDriverService service = GeckoDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new FirefoxDriver(service, getOptions()), service);
+	}
+	
+	protected FirefoxOptions getOptions() {
 		FirefoxOptions options = new FirefoxOptions();
 		options.addPreference("browser.download.folderList", 2);
 		options.addPreference("browser.download.dir", GlobalConstants.DOWNLOAD_FOLDER_PATH);
@@ -19,6 +34,7 @@ public class FirefoxDriverManager implements BrowserFactory {
 		options.addPreference("browser.helperApps.neverAsk.saveToDisk", 
 				"multipart/x-zip,application/vnd.ms-excel,application/x-7z-compressed,application/msword,application/pdf,application/x-rar-compressed,text/csv,image/png,image/jpeg,text/plain,text/html,application/octet-stream");
 		options.addPreference("pdfjs.disabled", true);
-		return new FirefoxDriver(options);
+		profile.applyTo(options);
+		return options;
 	}
 }
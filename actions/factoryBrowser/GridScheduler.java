@@ -0,0 +1,249 @@
+package factoryBrowser;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import commons.PropertiesConfig;
+
+/**
+ * Place grid sessions on several hubs/nodes: the capacity of every endpoint is probed
+ * (/grid/api/hub of a Selenium 3 hub, /wd/hub/status of a standalone node), a new session goes
+ * to the least loaded endpoint, waits in queue while every endpoint is full and is retried
+ * on another endpoint when the endpoint fails. A session the endpoint rejects (browser not starting on that node...)
+ * is tried once on every other endpoint before the rejection is thrown. Probes run outside the scheduler lock with their own
+ * short timeout (grid.probe.timeoutMillis) and are reused for grid.probe.ttlMillis
+ */
+public class GridScheduler {
+	private static final Log log = LogFactory.getLog(GridScheduler.class);
+	private static final Map<String, GridScheduler> schedulers = new ConcurrentHashMap<>();
+
+	private final List<GridEndpoint> endpoints = new ArrayList<>();
+	private final long queuePollMillis;
+	private final long failureCooldownMillis;
+	private final long probeTtlMillis = PropertiesConfig.getConfig().getLong("grid.probe.ttlMillis", 500);
+	private final Duration probeTimeout = Duration.ofMillis(PropertiesConfig.getConfig().getLong("grid.probe.timeoutMillis", 2000));
+
+	public GridScheduler(List<URL> hubUrls, long queuePollMillis, long failureCooldownMillis) {
+		if (hubUrls.isEmpty()) {
+			throw new IllegalArgumentException("No grid endpoint to schedule sessions on");
+		}
+		this.queuePollMillis = queuePollMillis;
+		this.failureCooldownMillis = failureCooldownMillis;
+		for (URL hubUrl : hubUrls) {
+			endpoints.add(new GridEndpoint(hubUrl));
+		}
+	}
+
+	/**
+	 * Get the shared scheduler of the endpoints, e.g. "192.168.1.114:4444,192.168.1.115:4444"
+	 * (an endpoint without port uses 4444, a full url is used as is)
+	 * @param hubList comma separated list of endpoints
+	 * @return scheduler of the endpoints
+	 */
+	public static GridScheduler getScheduler(String hubList) {
+		return schedulers.computeIfAbsent(hubList.replace(" ", ""), key -> {
+			List<URL> hubUrls = new ArrayList<>();
+			for (String endpoint : key.split(",")) {
+				hubUrls.add(toHubUrl(endpoint));
+			}
+			return new GridScheduler(hubUrls, PropertiesConfig.getConfig().getLong("grid.queue.pollMillis", 1000), PropertiesConfig.getConfig().getLong("grid.endpoint.cooldownMillis", 30000));
+		});
+	}
+
+	/**
+	 * Create the session on the least loaded endpoint
+	 * @param capabilities capabilities of the session
+	 * @param timeoutInSecond maximum time to wait in queue for a free slot
+	 * @return driver of the remote session
+	 */
+	public WebDriver createSession(Capabilities capabilities, long timeoutInSecond) {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutInSecond);
+		RuntimeException lastFailure = null;
+		Set<GridEndpoint> rejecting = new HashSet<>();
+		while (true) {
+			GridEndpoint endpoint = reserveLeastLoaded(rejecting);
+			if (endpoint != null) {
+				try {
+					WebDriver driver = newSession(endpoint.hubUrl, capabilities);
+					log.info("Session placed on " + endpoint.hubUrl);
+					return driver;
+				} catch (InvalidArgumentException e) {
+					// The request itself is wrong, another endpoint or more waiting will not help
+					throw e;
+				} catch (SessionNotCreatedException e) {
+					// The node cannot start this browser (version mismatch, crashed browser...), another node may
+					rejecting.add(endpoint);
+					if (rejecting.size() == endpoints.size()) {
+						throw e;
+					}
+					log.info("Session rejected by " + endpoint.hubUrl + ", try another endpoint: " + e.getMessage());
+					lastFailure = e;
+				} catch (RuntimeException e) {
+					log.info("Cannot create session on " + endpoint.hubUrl + ", retry on another endpoint: " + e.getMessage());
+					endpoint.failedAt = System.currentTimeMillis();
+					lastFailure = e;
+				} finally {
+					endpoint.release();
+				}
+				continue;
+			}
+			if (System.currentTimeMillis() >= deadline) {
+				throw new IllegalStateException("No grid endpoint had a free slot within " + timeoutInSecond + " seconds", lastFailure);
+			}
+			try {
+				Thread.sleep(queuePollMillis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for a free grid slot", e);
+			}
+		}
+	}
+
+	protected WebDriver newSession(URL hubUrl, Capabilities capabilities) {
+		return new RemoteWebDriver(PooledHttpClientFactory.getFactory().createCommandExecutor(hubUrl), capabilities);
+	}
+
+	/**
+	 * Probe every endpoint, then reserve a slot on the one with the lowest load,
+	 * endpoints which failed recently are skipped until their cooldown ends
+	 * @param rejecting endpoints which rejected the session being created
+	 * @return endpoint with a reserved slot or null when every endpoint is full
+	 */
+	private GridEndpoint reserveLeastLoaded(Set<GridEndpoint> rejecting) {
+		long now = System.currentTimeMillis();
+		List<GridEndpoint> answering = new ArrayList<>();
+		for (GridEndpoint endpoint : endpoints) {
+			if (!rejecting.contains(endpoint) && now - endpoint.failedAt >= failureCooldownMillis && endpoint.probe()) {
+				answering.add(endpoint);
+			}
+		}
+		synchronized (this) {
+			GridEndpoint leastLoaded = answering.stream()
+					.filter(endpoint -> endpoint.getFreeSlots() > 0)
+					.min(Comparator.comparingDouble(GridEndpoint::getLoad))
+					.orElse(null);
+			if (leastLoaded != null) {
+				leastLoaded.pending++;
+			}
+			return leastLoaded;
+		}
+	}
+
+	private static URL toHubUrl(String endpoint) {
+		try {
+			if (endpoint.startsWith("http")) {
+				return new URL(endpoint);
+			}
+			return new URL("http://" + (endpoint.contains(":") ? endpoint : endpoint + ":4444") + "/wd/hub");
+		} catch (MalformedURLException e) {
+			throw new IllegalArgumentException("Invalid grid endpoint: " + endpoint, e);
+		}
+	}
+
+	private class GridEndpoint {
+		private final URL hubUrl;
+		private final HttpClient client;
+		private volatile int totalSlots;
+		private volatile int freeSlots;
+		// Sessions being created, not counted by the endpoint yet
+		private int pending;
+		private volatile long failedAt = -failureCooldownMillis;
+		private volatile long probedAt;
+		private boolean answered;
+
+		private GridEndpoint(URL hubUrl) {
+			this.hubUrl = hubUrl;
+			this.client = PooledHttpClientFactory.getFactory().builder().connectionTimeout(probeTimeout).readTimeout(probeTimeout).createClient(toRootUrl(hubUrl));
+		}
+
+		private int getFreeSlots() {
+			return freeSlots - pending;
+		}
+
+		private double getLoad() {
+			return 1 - (double) getFreeSlots() / totalSlots;
+		}
+
+		private void release() {
+			synchronized (GridScheduler.this) {
+				pending--;
+			}
+			// The session just created is not in the cached slot counts
+			probedAt = 0;
+		}
+
+		/**
+		 * Probe the endpoint unless it was probed less than grid.probe.ttlMillis ago
+		 * @return true if the endpoint answered
+		 */
+		private synchronized boolean probe() {
+			long now = System.currentTimeMillis();
+			if (probedAt == 0 || now - probedAt >= probeTtlMillis) {
+				answered = readSlots();
+				probedAt = System.currentTimeMillis();
+			}
+			return answered;
+		}
+
+		/**
+		 * Read the slot counts of a hub, or the readiness of a standalone node (one slot)
+		 * @return true if the endpoint answered
+		 */
+		@SuppressWarnings("unchecked")
+		private boolean readSlots() {
+			try {
+				HttpResponse response = client.execute(new HttpRequest(HttpMethod.GET, "/grid/api/hub"));
+				if (response.getStatus() == 200) {
+					Map<String, Object> hub = new Json().toType(response.getContentString(), Map.class);
+					Map<String, Object> slotCounts = (Map<String, Object>) hub.get("slotCounts");
+					totalSlots = ((Number) slotCounts.get("total")).intValue();
+					freeSlots = ((Number) slotCounts.get("free")).intValue();
+					return totalSlots > 0;
+				}
+				response = client.execute(new HttpRequest(HttpMethod.GET, hubUrl.getPath() + "/status"));
+				if (response.getStatus() != 200) {
+					return false;
+				}
+				Map<String, Object> status = new Json().toType(response.getContentString(), Map.class);
+				Object value = status.get("value");
+				boolean ready = !(value instanceof Map) || !Boolean.FALSE.equals(((Map<String, Object>) value).get("ready"));
+				totalSlots = 1;
+				freeSlots = ready ? 1 : 0;
+				return true;
+			} catch (Exception e) {
+				log.info("Grid endpoint " + hubUrl + " did not answer the probe: " + e.getMessage());
+				return false;
+			}
+		}
+
+		private URL toRootUrl(URL url) {
+			try {
+				return new URL(url.getProtocol(), url.getHost(), url.getPort(), "/");
+			} catch (MalformedURLException e) {
+				throw new IllegalArgumentException(e);
+			}
+		}
+	}
+}
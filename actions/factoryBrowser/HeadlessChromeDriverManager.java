@@ -0,0 +1,20 @@
+package factoryBrowser;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+
+public class HeadlessChromeDriverManager extends ChromeDriverManager {
+	
+	public HeadlessChromeDriverManager(BrowserProfile profile) {
+		super(profile);
+	}
+
+	@Override
+	protected ChromeOptions getOptions() {
+		ChromeOptions options = super.getOptions();
+		options.setHeadless(true);
+		if (!profile.hasFixedViewport()) {
+			options.addArguments("--window-size=1440,900");
+		}
+		return options;
+	}
+}
@@ -0,0 +1,20 @@
+package factoryBrowser;
+
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+public class HeadlessFirefoxDriverManager extends FirefoxDriverManager {
+	
+	public HeadlessFirefoxDriverManager(BrowserProfile profile) {
+		super(profile);
+	}
+
+	@Override
+	protected FirefoxOptions getOptions() {
+		FirefoxOptions options = super.getOptions();
+		options.setHeadless(true);
+		if (!profile.hasFixedViewport()) {
+			options.addArguments("--width=1440", "--height=900");
+		}
+		return options;
+	}
+}
@@ -0,0 +1,25 @@
+package factoryBrowser;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverService;
+import org.openqa.selenium.ie.InternetExplorerOptions;
+
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
+public class IEDriverManager implements BrowserFactory {
+	private final BrowserProfile profile;
+	
+	public IEDriverManager(BrowserProfile profile) {
+		this.profile = profile;
+	}
+
+	@Override
+	public WebDriver getBrowserDriver() {
+		DriverBinaryResolver.getResolver().resolve(DriverManagerType.IEXPLORER);
+		InternetExplorerOptions options = new InternetExplorerOptions();
+		profile.applyTo(options);
+		InternetExplorerDriverService service = InternetExplorerDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new InternetExplorerDriver(service, options), service);
+	}
+}
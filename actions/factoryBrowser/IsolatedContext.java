@@ -0,0 +1,120 @@
+package factoryBrowser;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+/**
+ * Incognito-like browser context (own cookies, storage and cache) opened in a window of a shared host browser.
+ * The driver of the context works on the context window; quit() disposes the context, not the browser
+ */
+public class IsolatedContext {
+	private static final Log log = LogFactory.getLog(IsolatedContext.class);
+
+	private final IsolatedContexts.ContextHost host;
+	private final String contextId;
+	private final String windowHandle;
+	private final ContextDriver driver;
+	private volatile boolean closed;
+
+	IsolatedContext(IsolatedContexts.ContextHost host) {
+		this.host = host;
+		Set<String> windowsBefore = new HashSet<>(host.driver.getWindowHandles());
+		contextId = (String) host.executeCdp("Target.createBrowserContext", new HashMap<>()).get("browserContextId");
+		Map<String, Object> targetParams = new HashMap<>();
+		targetParams.put("url", "about:blank");
+		targetParams.put("browserContextId", contextId);
+		String targetId = (String) host.executeCdp("Target.createTarget", targetParams).get("targetId");
+		windowHandle = findNewWindow(windowsBefore, targetId);
+		driver = new ContextDriver(host.driver, this);
+		activate();
+	}
+
+	public WebDriver getDriver() {
+		return driver;
+	}
+
+	public String getContextId() {
+		return contextId;
+	}
+
+	/**
+	 * Switch the shared browser to the window of this context,
+	 * needed when a test works with several contexts (e.g. two users) at the same time
+	 */
+	public void activate() {
+		host.driver.switchTo().window(windowHandle);
+	}
+
+	/**
+	 * Dispose the context with its windows, cookies and storage, the host browser keeps running
+	 */
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		host.contexts.remove(this);
+		try {
+			Map<String, Object> params = new HashMap<>();
+			params.put("browserContextId", contextId);
+			host.executeCdp("Target.disposeBrowserContext", params);
+			host.driver.switchTo().window(host.hostWindow);
+		} catch (WebDriverException e) {
+			log.info("Cannot dispose browser context " + contextId + ": " + e.getMessage());
+		}
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * The new target shows up in the window handles once chromedriver attached to it
+	 */
+	private String findNewWindow(Set<String> windowsBefore, String targetId) {
+		for (int attempt = 0; attempt < 50; attempt++) {
+			Set<String> windows = host.driver.getWindowHandles();
+			if (windows.contains(targetId)) {
+				return targetId;
+			}
+			for (String window : windows) {
+				if (!windowsBefore.contains(window)) {
+					return window;
+				}
+			}
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		throw new WebDriverException("Window of browser context " + contextId + " not found");
+	}
+
+	private static class ContextDriver extends EventFiringWebDriver {
+		private final IsolatedContext context;
+
+		private ContextDriver(WebDriver driver, IsolatedContext context) {
+			super(driver);
+			this.context = context;
+		}
+
+		@Override
+		public void quit() {
+			context.close();
+		}
+	}
+
+	static IsolatedContext getContextOf(WebDriver driver) {
+		return driver instanceof ContextDriver ? ((ContextDriver) driver).context : null;
+	}
+}
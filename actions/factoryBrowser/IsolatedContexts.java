@@ -0,0 +1,173 @@
+package factoryBrowser;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import commons.GlobalConstants;
+
+/**
+ * One host browser per thread, browser and profile serving isolated browser contexts, so a test gets
+ * a clean user (cookies, storage, cache) by opening a context instead of starting a browser.
+ * Contexts are created through the DevTools Target domain, so only Chromium based browsers are supported
+ */
+public class IsolatedContexts {
+	private static final Log log = LogFactory.getLog(IsolatedContexts.class);
+	private static final IsolatedContexts contexts = new IsolatedContexts();
+	private static final List<BrowserList> CHROMIUM_BROWSERS = Arrays.asList(BrowserList.CHROME, BrowserList.H_CHROME,
+			BrowserList.EDGE_CHROMIUM, BrowserList.COC_COC);
+
+	private final Map<String, ContextHost> hosts = new ConcurrentHashMap<>();
+
+	private IsolatedContexts() {
+	}
+
+	public static IsolatedContexts getContexts() {
+		return contexts;
+	}
+
+	public boolean supports(String browserName) {
+		return CHROMIUM_BROWSERS.contains(BrowserList.fromName(browserName));
+	}
+
+	/**
+	 * Open a new isolated context in the host browser of the current thread,
+	 * the host browser is started on the first call
+	 * @param browserName name of a Chromium based browser
+	 * @param profile performance profile of the host browser
+	 * @return opened context, its driver is already switched to the context window
+	 */
+	public IsolatedContext open(String browserName, BrowserProfile profile) {
+		if (!supports(browserName)) {
+			throw new BrowserNotSupportedException(browserName);
+		}
+		String key = Thread.currentThread().getId() + "#" + browserName.toLowerCase() + "#" + profile;
+		ContextHost host = hosts.get(key);
+		if (host != null && !host.isAlive()) {
+			host.terminate();
+			host = null;
+		}
+		if (host == null) {
+			host = new ContextHost(new LocalFactory(browserName, profile).createDriver(), getCdpVendorPrefix(BrowserList.fromName(browserName)));
+			hosts.put(key, host);
+		}
+		IsolatedContext context = new IsolatedContext(host);
+		host.contexts.add(context);
+		return context;
+	}
+
+	/**
+	 * Get the context of a driver returned by {@link IsolatedContext#getDriver()}
+	 * @param driver driver of a test
+	 * @return context or null when the driver does not belong to a context
+	 */
+	public IsolatedContext getContextOf(WebDriver driver) {
+		return IsolatedContext.getContextOf(driver);
+	}
+
+	/**
+	 * Close every context and quit the host browsers, used at the end of the suite
+	 */
+	public void shutdownAll() {
+		for (ContextHost host : new ArrayList<>(hosts.values())) {
+			host.terminate();
+		}
+		hosts.clear();
+	}
+
+	/**
+	 * Vendor prefix of the DevTools endpoint of the driver: msedgedriver serves /ms/cdp/execute,
+	 * chromedriver and the drivers built from it /goog/cdp/execute
+	 */
+	private static String getCdpVendorPrefix(BrowserList browser) {
+		return browser == BrowserList.EDGE_CHROMIUM ? "ms" : "goog";
+	}
+
+	static class ContextHost {
+		final WebDriver driver;
+		final String hostWindow;
+		final Set<IsolatedContext> contexts = ConcurrentHashMap.newKeySet();
+		private final HttpClient client;
+		private final String cdpPath;
+
+		private ContextHost(WebDriver driver, String cdpVendorPrefix) {
+			this.driver = driver;
+			this.hostWindow = driver.getWindowHandle();
+			RemoteWebDriver remoteDriver = (RemoteWebDriver) driver;
+			URL serverUrl = ((HttpCommandExecutor) remoteDriver.getCommandExecutor()).getAddressOfRemoteServer();
+			String basePath = serverUrl.getPath().endsWith("/") ? serverUrl.getPath() : serverUrl.getPath() + "/";
+			this.client = PooledHttpClientFactory.getFactory().createClient(serverUrl);
+			this.cdpPath = basePath + "session/" + remoteDriver.getSessionId() + "/" + cdpVendorPrefix + "/cdp/execute";
+		}
+
+		/**
+		 * Send a DevTools command through the DevTools endpoint of the driver of the session
+		 * @param command DevTools method, e.g. Target.createBrowserContext
+		 * @param params parameters of the method
+		 * @return result of the method
+		 */
+		@SuppressWarnings("unchecked")
+		Map<String, Object> executeCdp(String command, Map<String, Object> params) {
+			Map<String, Object> body = new HashMap<>();
+			body.put("cmd", command);
+			body.put("params", params);
+			HttpRequest request = new HttpRequest(HttpMethod.POST, cdpPath);
+			request.setHeader("Content-Type", "application/json; charset=utf-8");
+			request.setContent(new Json().toJson(body).getBytes(StandardCharsets.UTF_8));
+			try {
+				HttpResponse response = client.execute(request);
+				Map<String, Object> result = new Json().toType(response.getContentString(), Map.class);
+				Object value = result.get("value");
+				if (response.getStatus() != 200) {
+					throw new WebDriverException(command + " failed: " + value);
+				}
+				return value instanceof Map ? (Map<String, Object>) value : new HashMap<>();
+			} catch (IOException e) {
+				throw new WebDriverException(command + " failed", e);
+			}
+		}
+
+		private boolean isAlive() {
+			try {
+				driver.getWindowHandles();
+				return true;
+			} catch (WebDriverException e) {
+				return false;
+			}
+		}
+
+		private void terminate() {
+			for (IsolatedContext context : new ArrayList<>(contexts)) {
+				context.close();
+			}
+			if (DriverProcessTracker.getTracker().isTracked(driver)) {
+				DriverProcessTracker.getTracker().terminate(driver, GlobalConstants.SHORT_TIMEOUT);
+				return;
+			}
+			try {
+				driver.quit();
+			} catch (WebDriverException e) {
+				log.info(e.getMessage());
+			}
+		}
+	}
+}
@@ -1,25 +1,127 @@
 package factoryBrowser;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
 public class LocalFactory {
+	private static final Log log = LogFactory.getLog(LocalFactory.class);
 	private WebDriver driver;
 	private String browserName;
+	private BrowserProfile profile;
 	public LocalFactory(String browserName) {
+		this(browserName, BrowserProfile.DEFAULT);
+	}
+	public LocalFactory(String browserName, BrowserProfile profile) {
 		this.browserName = browserName;
+		this.profile = profile;
 	}
+	/**
+	 * Create the driver, when the browser rejects its indexed driver version (browser updated since
+	 * the driver was resolved) the driver is resolved again and the session created once more
+	 * @return driver of the new session
+	 */
 	public WebDriver createDriver() {
-		BrowserList browser = BrowserList.valueOf(browserName.toUpperCase());
+		BrowserList browser = BrowserList.fromName(browserName);
+		try {
+			return createDriver(browser);
+		} catch (SessionNotCreatedException e) {
+			DriverManagerType driverType = getDriverType(browser);
+			if (driverType == null || !isVersionMismatch(e) || !DriverBinaryResolver.getResolver().invalidate(driverType)) {
+				throw e;
+			}
+			log.info("Driver does not match the installed " + browserName + ", resolve it again: " + e.getMessage());
+			return createDriver(browser);
+		}
+	}
+	
+	private WebDriver createDriver(BrowserList browser) {
 		switch(browser) {
 		case FIREFOX:
-			driver = new FirefoxDriverManager().getBrowserDriver();
+			driver = new FirefoxDriverManager(profile).getBrowserDriver();
+			break;
+		case H_FIREFOX:
+			driver = new HeadlessFirefoxDriverManager(profile).getBrowserDriver();
 			break;
 		case CHROME:
-			driver = new ChromeDriverManager().getBrowserDriver();
+			driver = new ChromeDriverManager(profile).getBrowserDriver();
+			break;
+		case H_CHROME:
+			driver = new HeadlessChromeDriverManager(profile).getBrowserDriver();
+			break;
+		case COC_COC:
+			driver = new CocCocDriverManager(profile).getBrowserDriver();
+			break;
+		case EDGE_CHROMIUM:
+			driver = new EdgeChromiumDriverManager(profile).getBrowserDriver();
+			break;
+		case EDGE_LEGACY:
+			driver = new EdgeLegacyDriverManager(profile).getBrowserDriver();
+			break;
+		case OPERA:
+			driver = new OperaDriverManager(profile).getBrowserDriver();
+			break;
+		case IE:
+			driver = new IEDriverManager(profile).getBrowserDriver();
+			break;
+		case SAFARI:
+			driver = new SafariDriverManager(profile).getBrowserDriver();
 			break;
 		default:
 			throw new BrowserNotSupportedException(browserName);
 		}
 		return driver;
 	}
+	
+	private static boolean isVersionMismatch(SessionNotCreatedException e) {
+		String message = String.valueOf(e.getMessage()).toLowerCase();
+		return message.contains("only supports") || message.contains("current browser version");
+	}
+	
+	private static DriverManagerType getDriverType(BrowserList browser) {
+		switch(browser) {
+		case FIREFOX:
+		case H_FIREFOX:
+			return DriverManagerType.FIREFOX;
+		case CHROME:
+		case H_CHROME:
+		case COC_COC:
+			return DriverManagerType.CHROME;
+		case EDGE_CHROMIUM:
+			return DriverManagerType.EDGE;
+		case OPERA:
+			return DriverManagerType.OPERA;
+		case IE:
+			return DriverManagerType.IEXPLORER;
+		default:
+			return null;
+		}
+	}
+	
+	/**
+	 * Lease a warm browser from the pool of this browser instead of creating a new one,
+	 * give it back with {@link #releaseDriver(WebDriver)}
+	 * @param timeoutInSecond maximum time to wait when every pooled browser is leased
+	 * @return leased driver
+	 */
+	public WebDriver leasePooledDriver(long timeoutInSecond) {
+		driver = BrowserPool.getPool(browserName, profile).lease(timeoutInSecond);
+		return driver;
+	}
+	
+	/**
+	 * Give the driver back to its pool or quit it when it was not pooled
+	 * @param driver driver to release
+	 */
+	public static void releaseDriver(WebDriver driver) {
+		BrowserPool pool = BrowserPool.getPoolOf(driver);
+		if (pool != null) {
+			pool.release(driver);
+		} else {
+			driver.quit();
+		}
+	}
 }
@@ -0,0 +1,26 @@
+package factoryBrowser;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.opera.OperaDriver;
+import org.openqa.selenium.opera.OperaDriverService;
+import org.openqa.selenium.opera.OperaOptions;
+
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+
+public class OperaDriverManager implements BrowserFactory {
+	private final BrowserProfile profile;
+	
+	public OperaDriverManager(BrowserProfile profile) {
+		this.profile = profile;
+	}
+
+	@Override
+	public WebDriver getBrowserDriver() {
+		DriverBinaryResolver.getResolver().resolve(DriverManagerType.OPERA);
+		OperaOptions options = new OperaOptions();
+		profile.applyTo(options);
+		options.addArguments(profile.getChromiumArguments());
+		OperaDriverService service = OperaDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new OperaDriver(service, options), service);
+	}
+}
@@ -0,0 +1,102 @@
+package factoryBrowser;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpClient.Builder;
+import org.openqa.selenium.remote.internal.OkHttpClient;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Credentials;
+import okhttp3.Dispatcher;
+import okhttp3.Response;
+
+import commons.PropertiesConfig;
+
+/**
+ * HTTP client factory for RemoteWebDriver sessions sharing one OkHttp client: every grid session
+ * reuses the same keep-alive connections and dispatcher instead of a client per session.
+ * Sized by grid.http.poolSize, grid.http.keepAliveSeconds, grid.http.connectTimeoutSeconds and grid.http.readTimeoutSeconds
+ */
+public class PooledHttpClientFactory implements HttpClient.Factory {
+	private static final PooledHttpClientFactory factory = new PooledHttpClientFactory(PropertiesConfig.getConfig().getInt("grid.http.poolSize", 32),
+			Duration.ofSeconds(PropertiesConfig.getConfig().getInt("grid.http.keepAliveSeconds", 300)),
+			Duration.ofSeconds(PropertiesConfig.getConfig().getInt("grid.http.connectTimeoutSeconds", 10)),
+			Duration.ofSeconds(PropertiesConfig.getConfig().getInt("grid.http.readTimeoutSeconds", 180)));
+
+	private final ConnectionPool connectionPool;
+	private final okhttp3.OkHttpClient sharedClient;
+	private final Duration connectTimeout;
+	private final Duration readTimeout;
+
+	public PooledHttpClientFactory(int poolSize, Duration keepAlive, Duration connectTimeout, Duration readTimeout) {
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+		connectionPool = new ConnectionPool(poolSize, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+		Dispatcher dispatcher = new Dispatcher();
+		dispatcher.setMaxRequests(poolSize);
+		dispatcher.setMaxRequestsPerHost(poolSize);
+		sharedClient = new okhttp3.OkHttpClient.Builder()
+				.connectionPool(connectionPool)
+				.dispatcher(dispatcher)
+				.retryOnConnectionFailure(true)
+				.followRedirects(true)
+				.followSslRedirects(true)
+				.addNetworkInterceptor(chain -> {
+					Response response = chain.proceed(chain.request());
+					return response.code() == 408 ? response.newBuilder().code(500).message("Server-Side Timeout").build() : response;
+				})
+				.build();
+	}
+
+	public static PooledHttpClientFactory getFactory() {
+		return factory;
+	}
+
+	/**
+	 * Command executor for a new RemoteWebDriver session on the hub
+	 * @param remoteAddress url of the hub, e.g. http://ip:port/wd/hub
+	 * @return command executor using the shared connections
+	 */
+	public HttpCommandExecutor createCommandExecutor(URL remoteAddress) {
+		return new HttpCommandExecutor(Collections.emptyMap(), remoteAddress, this);
+	}
+
+	public int getIdleConnectionCount() {
+		return connectionPool.idleConnectionCount();
+	}
+
+	@Override
+	public Builder builder() {
+		Builder builder = new Builder() {
+			@Override
+			public HttpClient createClient(URL url) {
+				// newBuilder() keeps the connection pool and dispatcher of the shared client
+				okhttp3.OkHttpClient.Builder client = sharedClient.newBuilder()
+						.proxy(proxy)
+						.connectTimeout(connectionTimeout.toMillis(), MILLISECONDS)
+						.readTimeout(readTimeout.toMillis(), MILLISECONDS);
+				String userInfo = url.getUserInfo();
+				if (userInfo != null && !userInfo.isEmpty()) {
+					String[] parts = userInfo.split(":", 2);
+					String credentials = Credentials.basic(parts[0], parts.length > 1 ? parts[1] : "");
+					client.authenticator((route, response) -> response.request().header("Authorization") != null ? null
+							: response.request().newBuilder().header("Authorization", credentials).build());
+				}
+				return new OkHttpClient(client.build(), url);
+			}
+		};
+		return builder.connectionTimeout(connectTimeout).readTimeout(readTimeout);
+	}
+
+	@Override
+	public void cleanupIdleClients() {
+		connectionPool.evictAll();
+	}
+}
@@ -0,0 +1,23 @@
+package factoryBrowser;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariDriverService;
+import org.openqa.selenium.safari.SafariOptions;
+
+public class SafariDriverManager implements BrowserFactory {
+	private final BrowserProfile profile;
+	
+	public SafariDriverManager(BrowserProfile profile) {
+		this.profile = profile;
+	}
+
+	@Override
+	public WebDriver getBrowserDriver() {
+		// safaridriver ships with macOS, no binary to resolve
+		SafariOptions options = new SafariOptions();
+		profile.applyTo(options);
+		SafariDriverService service = SafariDriverService.createDefaultService();
+		return DriverProcessTracker.getTracker().track(new SafariDriver(service, options), service);
+	}
+}
@@ -0,0 +1,221 @@
+package factoryBrowser;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringWebDriver;
+
+import commons.GlobalConstants;
+import commons.PropertiesConfig;
+
+/**
+ * Keep one browser session per thread, browser and profile alive across test classes.
+ * The session is cleaned when a class releases it (or calls driver.quit()) and is recycled
+ * after browser.session.maxTests tests or when the browser uses more than browser.session.maxMemoryMb
+ */
+public class SessionRecycler {
+	private static final Log log = LogFactory.getLog(SessionRecycler.class);
+	private static final SessionRecycler recycler = new SessionRecycler(PropertiesConfig.getConfig().getInt("browser.session.maxTests", 50),
+			PropertiesConfig.getConfig().getInt("browser.session.maxMemoryMb", 1536) * 1024L * 1024L);
+
+	private final int maxTests;
+	private final long maxMemoryBytes;
+	private final Map<Long, Map<String, RecycledSession>> sessions = new ConcurrentHashMap<>();
+	private final Set<RecycledSession> openSessions = ConcurrentHashMap.newKeySet();
+
+	public SessionRecycler(int maxTests, long maxMemoryBytes) {
+		this.maxTests = maxTests;
+		this.maxMemoryBytes = maxMemoryBytes;
+	}
+
+	public static SessionRecycler getRecycler() {
+		return recycler;
+	}
+
+	/**
+	 * Get the session of the current thread, starting a new browser when there is none yet,
+	 * the previous one was recycled or it does not respond anymore
+	 * @param browserName name of the browser
+	 * @param profile performance profile of the browser
+	 * @return driver of the session, quit() gives it back instead of closing the browser
+	 */
+	public WebDriver acquire(String browserName, BrowserProfile profile) {
+		Map<String, RecycledSession> threadSessions = sessions.computeIfAbsent(Thread.currentThread().getId(), threadId -> new ConcurrentHashMap<>());
+		String key = browserName.toLowerCase() + "#" + profile;
+		RecycledSession session = threadSessions.get(key);
+		if (session != null && (session.inUse || !session.isAlive())) {
+			if (!session.inUse) {
+				session.terminate();
+			}
+			session = null;
+		}
+		if (session == null) {
+			session = new RecycledSession(new LocalFactory(browserName, profile).createDriver(), threadSessions, key);
+			threadSessions.putIfAbsent(key, session);
+			openSessions.add(session);
+		} else {
+			log.info("Reuse " + browserName + " session after " + session.tests.get() + " tests");
+		}
+		session.inUse = true;
+		return session.recycledDriver;
+	}
+
+	public boolean isRecycled(WebDriver driver) {
+		return driver instanceof RecycledDriver;
+	}
+
+	/**
+	 * Count a finished test against the session of the driver
+	 * @param driver driver of the test
+	 */
+	public void recordTest(WebDriver driver) {
+		if (isRecycled(driver)) {
+			((RecycledDriver) driver).session.tests.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Give the session back at the end of a test class: clean it for the next class
+	 * or quit it when it ran too many tests or uses too much memory
+	 * @param driver driver of the session
+	 */
+	public void release(WebDriver driver) {
+		if (!isRecycled(driver)) {
+			throw new IllegalArgumentException("Driver was not acquired from the session recycler");
+		}
+		RecycledSession session = ((RecycledDriver) driver).session;
+		if (!session.inUse) {
+			return;
+		}
+		session.inUse = false;
+		if (session.threadSessions.get(session.key) != session) {
+			// Extra session started while the thread's session was still in use
+			session.terminate();
+			return;
+		}
+		if (session.tests.get() >= maxTests) {
+			log.info("Recycle session after " + session.tests.get() + " tests");
+			session.terminate();
+			return;
+		}
+		long memory = session.getMemoryUsage();
+		if (memory > maxMemoryBytes) {
+			log.info("Recycle session using " + memory / (1024 * 1024) + " MB");
+			session.terminate();
+			return;
+		}
+		try {
+			session.reset();
+		} catch (RuntimeException e) {
+			log.info("Cannot clean session, recycle it: " + e.getMessage());
+			session.terminate();
+		}
+	}
+
+	/**
+	 * Quit the sessions of every thread, used at the end of the suite
+	 */
+	public void shutdownAll() {
+		for (RecycledSession session : new ArrayList<>(openSessions)) {
+			session.terminate();
+		}
+		sessions.clear();
+	}
+
+	private class RecycledSession extends BrowserSession {
+		private final RecycledDriver recycledDriver;
+		private final Map<String, RecycledSession> threadSessions;
+		private final String key;
+		private final AtomicInteger tests = new AtomicInteger();
+		private volatile boolean inUse;
+		private volatile boolean terminated;
+
+		private RecycledSession(WebDriver driver, Map<String, RecycledSession> threadSessions, String key) {
+			this(new RecycledDriver(driver), threadSessions, key);
+		}
+
+		private RecycledSession(RecycledDriver recycledDriver, Map<String, RecycledSession> threadSessions, String key) {
+			super(recycledDriver);
+			this.recycledDriver = recycledDriver;
+			this.threadSessions = threadSessions;
+			this.key = key;
+			recycledDriver.session = this;
+		}
+
+		private void release() {
+			SessionRecycler.this.release(recycledDriver);
+		}
+
+		private boolean isAlive() {
+			try {
+				recycledDriver.getWindowHandles();
+				return true;
+			} catch (RuntimeException e) {
+				return false;
+			}
+		}
+
+		/**
+		 * Memory of the browser process tree, or the JS heap of the page when the processes cannot be measured
+		 */
+		private long getMemoryUsage() {
+			long memory = DriverProcessTracker.getTracker().getMemoryUsage(recycledDriver.getWrappedDriver());
+			if (memory >= 0) {
+				return memory;
+			}
+			try {
+				Object heapSize = ((JavascriptExecutor) recycledDriver.getWrappedDriver())
+						.executeScript("return window.performance && performance.memory ? performance.memory.usedJSHeapSize : -1;");
+				return heapSize instanceof Number ? ((Number) heapSize).longValue() : -1;
+			} catch (RuntimeException e) {
+				return -1;
+			}
+		}
+
+		private void terminate() {
+			if (terminated) {
+				return;
+			}
+			terminated = true;
+			inUse = false;
+			threadSessions.remove(key, this);
+			openSessions.remove(this);
+			WebDriver wrappedDriver = recycledDriver.getWrappedDriver();
+			if (DriverProcessTracker.getTracker().isTracked(wrappedDriver)) {
+				DriverProcessTracker.getTracker().terminate(wrappedDriver, GlobalConstants.SHORT_TIMEOUT);
+				return;
+			}
+			try {
+				wrappedDriver.quit();
+			} catch (Exception e) {
+				log.info(e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Driver handed to the tests: test classes which quit their driver in @AfterClass
+	 * give the session back instead of closing the browser
+	 */
+	private static class RecycledDriver extends EventFiringWebDriver {
+		private RecycledSession session;
+
+		private RecycledDriver(WebDriver driver) {
+			super(driver);
+		}
+
+		@Override
+		public void quit() {
+			if (!session.terminated) {
+				session.release();
+			}
+		}
+	}
+}
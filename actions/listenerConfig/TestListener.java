@@ -15,7 +15,6 @@ import commons.BaseTest;
 public class TestListener implements ITestListener {
 	
 	String projectLocation = System.getProperty("user.dir")+File.separator+"reportScrShoot"+File.separator;
-	WebDriver driver;
 	@Override
 	public void onTestStart(ITestResult result) {
 		// TODO Auto-generated method stub
@@ -25,7 +24,7 @@ public class TestListener implements ITestListener {
 	@Override
 	public void onTestSuccess(ITestResult result) {
 		Object testClass = result.getInstance();
-		driver = ((BaseTest)testClass).getWebdriver();
+		WebDriver driver = ((BaseTest)testClass).getWebdriver();
 		TakesScreenshot scrShot = (TakesScreenshot) driver;
 		File srcFile = scrShot.getScreenshotAs(OutputType.FILE);
 		File desFile = new File(projectLocation+result.getName()+".png");
@@ -40,7 +39,7 @@ public class TestListener implements ITestListener {
 	public void onTestFailure(ITestResult result) {
 		// TODO Auto-generated method stub
 		Object testClass = result.getInstance();
-		driver = ((BaseTest)testClass).getWebdriver();
+		WebDriver driver = ((BaseTest)testClass).getWebdriver();
 		TakesScreenshot scrShot = (TakesScreenshot) driver;
 		File srcFile = scrShot.getScreenshotAs(OutputType.FILE);
 		File desFile = new File(projectLocation+result.getName()+".png");
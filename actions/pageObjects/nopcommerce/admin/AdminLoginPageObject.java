@@ -14,18 +14,15 @@ public class AdminLoginPageObject extends BasePage {
 	}
 
 	public void inputEmail(String email) {
-		waitForElementVisible(driver, AdminLoginPageUI.EMAIL_TEXTBOX);
-		inputIntoElement(driver, AdminLoginPageUI.EMAIL_TEXTBOX,email);
+		visibleThenType(driver, AdminLoginPageUI.EMAIL_TEXTBOX, email);
 	}
 
 	public void inputPassword(String password) {
-		waitForElementVisible(driver, AdminLoginPageUI.PASSWORD_TEXTBOX);
-		inputIntoElement(driver, AdminLoginPageUI.PASSWORD_TEXTBOX,password);		
+		visibleThenType(driver, AdminLoginPageUI.PASSWORD_TEXTBOX, password);		
 	}
 
 	public AdminDashboardPageObject clickLoginButton() {
-		waitForElementClickable(driver, AdminLoginPageUI.LOGIN_BUTTON);
-		clickElement(driver, AdminLoginPageUI.LOGIN_BUTTON);
+		clickableThenClick(driver, AdminLoginPageUI.LOGIN_BUTTON);
 		return PageGeneratorManager.getPageGenerator().getAdminDashboardPage(driver);
 	}
 
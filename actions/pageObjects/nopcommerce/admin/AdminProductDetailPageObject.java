@@ -26,19 +26,16 @@ public class AdminProductDetailPageObject extends BasePage {
 	}
 
 	public void addProductPicture() {
-		waitForElementClickable(driver, AdminProductDetailPageUI.ADD_PRODUCT_PICTURE_BUTTON);
-		clickElement(driver, AdminProductDetailPageUI.ADD_PRODUCT_PICTURE_BUTTON);
-		sleepInSecond(1);
+		clickableThenClick(driver, AdminProductDetailPageUI.ADD_PRODUCT_PICTURE_BUTTON);
+		waitForPageQuiet(driver);
 	}
 
 	public void inputAltTextbox(String picture) {
-		waitForElementVisible(driver, AdminProductDetailPageUI.PICTURE_ALT_TEXTBOX);
-		inputIntoElement(driver, AdminProductDetailPageUI.PICTURE_ALT_TEXTBOX,picture);
+		visibleThenType(driver, AdminProductDetailPageUI.PICTURE_ALT_TEXTBOX, picture);
 	}
 
 	public void inputTitleTextbox(String picture) {
-		waitForElementVisible(driver, AdminProductDetailPageUI.PICTURE_TITLE_TEXTBOX);
-		inputIntoElement(driver, AdminProductDetailPageUI.PICTURE_TITLE_TEXTBOX,picture);
+		visibleThenType(driver, AdminProductDetailPageUI.PICTURE_TITLE_TEXTBOX, picture);
 	}
 
 	public boolean isPictureDisplayed(String order, String alt, String title) {
@@ -51,14 +48,12 @@ public class AdminProductDetailPageObject extends BasePage {
 	}
 
 	public void clickSaveButton() {
-		waitForElementClickable(driver, AdminProductDetailPageUI.SAVE_BUTTON);
-		clickElement(driver, AdminProductDetailPageUI.SAVE_BUTTON);
+		clickableThenClick(driver, AdminProductDetailPageUI.SAVE_BUTTON);
 	}
 
 	public void deletePictureByTitle(String picture) {
-		waitForElementClickable(driver, AdminProductDetailPageUI.DYNAMIC_BUTTON_BY_TITLE,picture,"Delete");
-		clickElement(driver, AdminProductDetailPageUI.DYNAMIC_BUTTON_BY_TITLE,picture,"Delete");
+		clickableThenClick(driver, AdminProductDetailPageUI.DYNAMIC_BUTTON_BY_TITLE, picture, "Delete");
 		acceptAlert(driver);
-		sleepInSecond(1);
+		waitForPageQuiet(driver);
 	}
 }
\ No newline at end of file
@@ -14,13 +14,11 @@ public class AdminProductsPageObject extends BasePage {
 	}
 
 	public void inputProductName(String productName) {
-		waitForElementVisible(driver, AdminProductsPageUI.PRODUCT_NAME_TEXTBOX);
-		inputIntoElement(driver, AdminProductsPageUI.PRODUCT_NAME_TEXTBOX, productName);
+		visibleThenType(driver, AdminProductsPageUI.PRODUCT_NAME_TEXTBOX, productName);
 	}
 
 	public void clickSearchButton() {
-		waitForElementClickable(driver, AdminProductsPageUI.SEARCH_BUTTON);
-		clickElement(driver, AdminProductsPageUI.SEARCH_BUTTON);
+		clickableThenClick(driver, AdminProductsPageUI.SEARCH_BUTTON);
 	}
 
 	public AdminProductDetailPageObject clickEditByValueOfColumn(String headerName, String value) {
@@ -31,7 +29,6 @@ public class AdminProductsPageObject extends BasePage {
 	}
 
 	public String getSuccessMessage() {
-		waitForElementVisible(driver, AdminProductsPageUI.SUCCESS_MESSAGE);
-		return getElementText(driver, AdminProductsPageUI.SUCCESS_MESSAGE);
+		return visibleThenRead(driver, AdminProductsPageUI.SUCCESS_MESSAGE);
 	}
 }
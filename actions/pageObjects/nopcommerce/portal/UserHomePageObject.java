@@ -19,24 +19,25 @@ public class UserHomePageObject extends BasePage {
 		openBrowser(driver, GlobalConstants.USER_PORTAL_PAGE_URL);
 	}
 	public UserLoginPageObject clickLogInLink() {
-		waitForElementClickable(driver, UserBasePageUI.LOGIN_LINK);
-		clickElement(driver, UserBasePageUI.LOGIN_LINK);
+		clickableThenClick(driver, UserBasePageUI.LOGIN_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserLoginPage(driver);
 	}
 	
 	@Step("Click Register Link")
 	public UserRegisterPageObject clickRegisterLink() {
-		waitForElementClickable(driver, UserBasePageUI.REGISTER_LINK);
-		clickElement(driver, UserBasePageUI.REGISTER_LINK);
+		clickableThenClick(driver, UserBasePageUI.REGISTER_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserRegisterPage(driver);
 	}
 	
 	public void clickMyAccountLink() {
-		waitForElementClickable(driver, UserBasePageUI.MY_ACCOUNT_LINK);
-		clickElement(driver, UserBasePageUI.MY_ACCOUNT_LINK);
+		clickableThenClick(driver, UserBasePageUI.MY_ACCOUNT_LINK);
 	}
 	
 	public boolean isMyAccountLinkDisplayed() {
 		return isElementDisplayed(driver, UserHomePageUI.MY_ACCOUNT_LINK);
 	}
+	
+	public boolean isLogOutLinkDisplayed() {
+		return isElementDisplayed(driver, UserBasePageUI.LOGOUT_LINK_AT_USER);
+	}
 }
@@ -14,29 +14,24 @@ public class UserLoginPageObject extends BasePage {
 	}
 	
 	public void inputEmail(String email) {
-		waitForElementVisible(driver, UserLoginPageUI.EMAIL_TEXTBOX);
-		inputIntoElement(driver, UserLoginPageUI.EMAIL_TEXTBOX, email);
+		visibleThenType(driver, UserLoginPageUI.EMAIL_TEXTBOX, email);
 	}
 	
 	public void inputPassword(String password) {
-		waitForElementVisible(driver, UserLoginPageUI.PASSWORD_TEXTBOX);
-		inputIntoElement(driver, UserLoginPageUI.PASSWORD_TEXTBOX, password);
+		visibleThenType(driver, UserLoginPageUI.PASSWORD_TEXTBOX, password);
 	}
 	
 	public UserHomePageObject clickLoginButton() {
-		waitForElementClickable(driver, UserLoginPageUI.LOGIN_BUTTON);
-		clickElement(driver, UserLoginPageUI.LOGIN_BUTTON);
+		clickableThenClick(driver, UserLoginPageUI.LOGIN_BUTTON);
 		return PageGeneratorManager.getPageGenerator().getUserHomePage(driver);
 	}
 	
 	public String getEmailErrorMessage() {
-		waitForElementVisible(driver, UserLoginPageUI.EMAIL_ERROR_MESSAGE);
-		return getElementText(driver, UserLoginPageUI.EMAIL_ERROR_MESSAGE);
+		return visibleThenRead(driver, UserLoginPageUI.EMAIL_ERROR_MESSAGE);
 	}
 	
 	public String getLoginErrorMessage() {
-		waitForElementVisible(driver, UserLoginPageUI.LOGIN_ERROR_MESSAGE);
-		return getElementText(driver, UserLoginPageUI.LOGIN_ERROR_MESSAGE);
+		return visibleThenRead(driver, UserLoginPageUI.LOGIN_ERROR_MESSAGE);
 	}
 
 	public UserHomePageObject loginAsUser(String email, String password) {
@@ -46,8 +41,7 @@ public class UserLoginPageObject extends BasePage {
 	}
 
 	public UserHomePageObject openHomePage() {
-		waitForElementClickable(driver, UserLoginPageUI.LOGIN_IMG);
-		clickElement(driver, UserLoginPageUI.LOGIN_IMG);
+		clickableThenClick(driver, UserLoginPageUI.LOGIN_IMG);
 		return PageGeneratorManager.getPageGenerator().getUserHomePage(driver);
 	}
 }
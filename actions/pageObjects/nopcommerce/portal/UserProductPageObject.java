@@ -13,8 +13,7 @@ public class UserProductPageObject extends BasePage {
 		this.driver = driver;
 	}	
 	public UserProductReviewPageObject clickReview() {
-		waitForElementClickable(driver, UserProductPageUI.ADD_REVIEW_BUTTON);
-		clickElement(driver, UserProductPageUI.ADD_REVIEW_BUTTON);
+		clickableThenClick(driver, UserProductPageUI.ADD_REVIEW_BUTTON);
 		return PageGeneratorManager.getPageGenerator().getUserProductReviewPage(driver);
 	}
 }
\ No newline at end of file
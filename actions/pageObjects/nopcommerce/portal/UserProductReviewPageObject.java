@@ -13,13 +13,11 @@ public class UserProductReviewPageObject extends BasePage {
 	}
 	
 	public void inputReviewTitle(String reviewTitle) {
-		waitForElementVisible(driver, UserProductReviewPageUI.REVIEW_TITLE_TEXTBOX);
-		inputIntoElement(driver, UserProductReviewPageUI.REVIEW_TITLE_TEXTBOX, reviewTitle);
+		visibleThenType(driver, UserProductReviewPageUI.REVIEW_TITLE_TEXTBOX, reviewTitle);
 	}
 	
 	public void inputReviewText(String reviewText) {
-		waitForElementVisible(driver, UserProductReviewPageUI.REVIEW_TEXTAREA);
-		inputIntoElement(driver, UserProductReviewPageUI.REVIEW_TEXTAREA, reviewText);
+		visibleThenType(driver, UserProductReviewPageUI.REVIEW_TEXTAREA, reviewText);
 	}
 	
 	public void clickRating(String rating) {
@@ -15,23 +15,19 @@ public class UserRegisterPageObject extends BasePage {
 	}
 	
 	public void selectMaleGender() {
-		waitForElementClickable(driver, UserRegisterPageUI.MALE_RADIO_BUTTON);
-		clickElement(driver,UserRegisterPageUI.MALE_RADIO_BUTTON);
+		clickableThenClick(driver, UserRegisterPageUI.MALE_RADIO_BUTTON);
 	}
 	
 	public void selectFemaleGender() {
-		waitForElementClickable(driver, UserRegisterPageUI.FEMALE_RADIO_BUTTON);
-		clickElement(driver,UserRegisterPageUI.FEMALE_RADIO_BUTTON);
+		clickableThenClick(driver, UserRegisterPageUI.FEMALE_RADIO_BUTTON);
 	}
 	
 	public void inputFirstName(String firstName) {
-		waitForElementVisible(driver, UserRegisterPageUI.FIRST_NAME_TEXTBOX);
-		inputIntoElement(driver,UserRegisterPageUI.FIRST_NAME_TEXTBOX, firstName);
+		visibleThenType(driver, UserRegisterPageUI.FIRST_NAME_TEXTBOX, firstName);
 	}
 	
 	public void inputLastName(String lastName) {
-		waitForElementVisible(driver, UserRegisterPageUI.LAST_NAME_TEXTBOX);
-		inputIntoElement(driver,UserRegisterPageUI.LAST_NAME_TEXTBOX, lastName);
+		visibleThenType(driver, UserRegisterPageUI.LAST_NAME_TEXTBOX, lastName);
 	}
 	
 	public void selectDay(String day) {
@@ -50,13 +46,11 @@ public class UserRegisterPageObject extends BasePage {
 	}
 	@Step("Click input invalid email format")
 	public void inputEmail(String email) {
-		waitForElementVisible(driver, UserRegisterPageUI.EMAIL_TEXTBOX);
-		inputIntoElement(driver,UserRegisterPageUI.EMAIL_TEXTBOX, email);
+		visibleThenType(driver, UserRegisterPageUI.EMAIL_TEXTBOX, email);
 	}
 	
 	public void inputCompany(String company) {
-		waitForElementVisible(driver, UserRegisterPageUI.COMPANY_TEXTBOX);
-		inputIntoElement(driver,UserRegisterPageUI.COMPANY_TEXTBOX, company);
+		visibleThenType(driver, UserRegisterPageUI.COMPANY_TEXTBOX, company);
 	}
 	
 	public void selectNewsletter() {
@@ -70,13 +64,11 @@ public class UserRegisterPageObject extends BasePage {
 	}
 	
 	public void inputPassword(String password) {
-		waitForElementVisible(driver, UserRegisterPageUI.PASSWORD_TEXTBOX);
-		inputIntoElement(driver, UserRegisterPageUI.PASSWORD_TEXTBOX, password);
+		visibleThenType(driver, UserRegisterPageUI.PASSWORD_TEXTBOX, password);
 	}
 	
 	public void inputConfirmPassword(String password) {
-		waitForElementVisible(driver, UserRegisterPageUI.CONFIRM_PASSWORD_TEXTBOX);
-		inputIntoElement(driver, UserRegisterPageUI.CONFIRM_PASSWORD_TEXTBOX, password);
+		visibleThenType(driver, UserRegisterPageUI.CONFIRM_PASSWORD_TEXTBOX, password);
 	}
 	@Step("Click Register Button")
 	public UserHomePageObject clickRegisterButton() {
@@ -86,29 +78,24 @@ public class UserRegisterPageObject extends BasePage {
 	}
 	
 	public String getFirstNameErrorMessage() {
-		waitForElementVisible(driver, UserRegisterPageUI.FIRST_NAME_ERROR_MESSAGE);
-		return getElementText(driver, UserRegisterPageUI.FIRST_NAME_ERROR_MESSAGE);
+		return visibleThenRead(driver, UserRegisterPageUI.FIRST_NAME_ERROR_MESSAGE);
 	}
 	
 	
 	public String getLastNameErrorMessage() {
-		waitForElementVisible(driver, UserRegisterPageUI.LAST_NAME_ERROR_MESSAGE);
-		return getElementText(driver, UserRegisterPageUI.LAST_NAME_ERROR_MESSAGE);
+		return visibleThenRead(driver, UserRegisterPageUI.LAST_NAME_ERROR_MESSAGE);
 	}
 	@Step("Verify email field")
 	public String getEmailErrorMessage() {
-		waitForElementVisible(driver, UserRegisterPageUI.EMAIL_ERROR_MESSAGE);
-		return getElementText(driver, UserRegisterPageUI.EMAIL_ERROR_MESSAGE);
+		return visibleThenRead(driver, UserRegisterPageUI.EMAIL_ERROR_MESSAGE);
 	}
 	
 	public String getPasswordErrorMessage() {
-		waitForElementVisible(driver, UserRegisterPageUI.PASSWORD_ERROR_MESSAGE);
-		return getElementText(driver, UserRegisterPageUI.PASSWORD_ERROR_MESSAGE);
+		return visibleThenRead(driver, UserRegisterPageUI.PASSWORD_ERROR_MESSAGE);
 	}
 	
 	public String getConfirmPasswordErrorMessage() {
-		waitForElementVisible(driver, UserRegisterPageUI.CONFIRM_PASSWORD_ERROR_MESSAGE);
-		return getElementText(driver, UserRegisterPageUI.CONFIRM_PASSWORD_ERROR_MESSAGE);
+		return visibleThenRead(driver, UserRegisterPageUI.CONFIRM_PASSWORD_ERROR_MESSAGE);
 	}
 	
 	public String getExistingEmailErrorMessage() {
@@ -117,13 +104,11 @@ public class UserRegisterPageObject extends BasePage {
 	}
 	
 	public String getSuccessMessage() {
-		waitForElementVisible(driver, UserRegisterPageUI.SUCCESS_MESSAGE);
-		return getElementText(driver, UserRegisterPageUI.SUCCESS_MESSAGE);
+		return visibleThenRead(driver, UserRegisterPageUI.SUCCESS_MESSAGE);
 	}
 	
 	public UserHomePageObject clickLogOutLink() {
-		waitForElementClickable(driver, UserRegisterPageUI.LOGOUT_LINK);
-		clickElement(driver, UserRegisterPageUI.LOGOUT_LINK);
+		clickableThenClick(driver, UserRegisterPageUI.LOGOUT_LINK);
 		return PageGeneratorManager.getPageGenerator().getUserHomePage(driver);
 	}
 }
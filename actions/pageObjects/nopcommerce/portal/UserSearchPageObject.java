@@ -15,30 +15,25 @@ public class UserSearchPageObject extends BasePage {
 	
 	
 	public void inputSearch(String searchValue) {
-		waitForElementVisible(driver, UserSearchPageUI.SEARCH_TEXTBOX);
-		inputIntoElement(driver, UserSearchPageUI.SEARCH_TEXTBOX,searchValue);
+		visibleThenType(driver, UserSearchPageUI.SEARCH_TEXTBOX, searchValue);
 	}
 	
 	public void clickSearchButton() {
-		waitForElementClickable(driver, UserSearchPageUI.SEARCH_BUTTON);
-		clickElement(driver, UserSearchPageUI.SEARCH_BUTTON);
+		clickableThenClick(driver, UserSearchPageUI.SEARCH_BUTTON);
 	}
 	
 	public UserProductPageObject selectProduct(String searchValue) {
 		String xpath = UserSearchPageUI.PRODUCT_TITLE +"/a[contains(text(),'"+ searchValue + "')]";
-		waitForElementClickable(driver, xpath);
-		clickElement(driver, xpath);
+		clickableThenClick(driver, xpath);
 		return PageGeneratorManager.getPageGenerator().getUserProductPage(driver);
 	}
 
 	public String getSearchErrorText() {
-		waitForElementVisible(driver, UserSearchPageUI.SEARCH_ERROR);
-		return getElementText(driver, UserSearchPageUI.SEARCH_ERROR);
+		return visibleThenRead(driver, UserSearchPageUI.SEARCH_ERROR);
 	}
 	
 	public String getSearchNoValueText() {
-		waitForElementVisible(driver, UserSearchPageUI.SEARCH_NO_RESULT);
-		return getElementText(driver, UserSearchPageUI.SEARCH_NO_RESULT);
+		return visibleThenRead(driver, UserSearchPageUI.SEARCH_NO_RESULT);
 	}
 
 
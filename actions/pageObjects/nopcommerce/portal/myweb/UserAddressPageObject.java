@@ -12,28 +12,23 @@ public class UserAddressPageObject extends BasePage {
 	}
 	
 	public void clickAddNewButton() {
-		waitForElementClickable(driver, UserAddressPageUI.ADD_BUTTON);
-		clickElement(driver, UserAddressPageUI.ADD_BUTTON);
+		clickableThenClick(driver, UserAddressPageUI.ADD_BUTTON);
 	}
 	
 	public void inputFirstName(String firstName) {
-		waitForElementVisible(driver, UserAddressPageUI.FIRSTNAME_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.FIRSTNAME_TEXTBOX, firstName);
+		visibleThenType(driver, UserAddressPageUI.FIRSTNAME_TEXTBOX, firstName);
 	}
 	
 	public void inputLastName(String lastName) {
-		waitForElementVisible(driver, UserAddressPageUI.LASTNAME_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.LASTNAME_TEXTBOX, lastName);
+		visibleThenType(driver, UserAddressPageUI.LASTNAME_TEXTBOX, lastName);
 	}
 	
 	public void inputEmail(String email) {
-		waitForElementVisible(driver, UserAddressPageUI.EMAIL_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.EMAIL_TEXTBOX, email);
+		visibleThenType(driver, UserAddressPageUI.EMAIL_TEXTBOX, email);
 	}
 	
 	public void inputCompany(String company) {
-		waitForElementVisible(driver, UserAddressPageUI.COMPANY_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.COMPANY_TEXTBOX, company);
+		visibleThenType(driver, UserAddressPageUI.COMPANY_TEXTBOX, company);
 	}
 
 	public void selectCountry(String country) {
@@ -47,72 +42,58 @@ public class UserAddressPageObject extends BasePage {
 	}
 	
 	public void inputCity(String city) {
-		waitForElementVisible(driver, UserAddressPageUI.CITY_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.CITY_TEXTBOX, city);
+		visibleThenType(driver, UserAddressPageUI.CITY_TEXTBOX, city);
 	}
 	
 	public void inputAddress1(String address) {
-		waitForElementVisible(driver, UserAddressPageUI.ADDRESS_1_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.ADDRESS_1_TEXTBOX, address);
+		visibleThenType(driver, UserAddressPageUI.ADDRESS_1_TEXTBOX, address);
 	}
 	
 	public void inputAddress2(String address) {
-		waitForElementVisible(driver, UserAddressPageUI.ADDRESS_2_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.ADDRESS_2_TEXTBOX, address);
+		visibleThenType(driver, UserAddressPageUI.ADDRESS_2_TEXTBOX, address);
 	}
 	
 	public void inputZip(String zip) {
-		waitForElementVisible(driver, UserAddressPageUI.ZIP_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.ZIP_TEXTBOX, zip);
+		visibleThenType(driver, UserAddressPageUI.ZIP_TEXTBOX, zip);
 	}
 	
 	public void inputPhoneNumber(String phoneNumber) {
-		waitForElementVisible(driver, UserAddressPageUI.PHONE_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.PHONE_TEXTBOX, phoneNumber);
+		visibleThenType(driver, UserAddressPageUI.PHONE_TEXTBOX, phoneNumber);
 	}
 	
 	public void inputFaxNumber(String faxNumber) {
-		waitForElementVisible(driver, UserAddressPageUI.FAX_TEXTBOX);
-		inputIntoElement(driver,UserAddressPageUI.FAX_TEXTBOX, faxNumber);
+		visibleThenType(driver, UserAddressPageUI.FAX_TEXTBOX, faxNumber);
 	}
 	
 	public void clickSaveButton() {
-		waitForElementClickable(driver, UserAddressPageUI.SAVE_BUTTON);
-		clickElement(driver, UserAddressPageUI.SAVE_BUTTON);
+		clickableThenClick(driver, UserAddressPageUI.SAVE_BUTTON);
 	}
 	
 	public String getNameText() {
-		waitForElementVisible(driver, UserAddressPageUI.NAME_TEXT);
-		return getElementText(driver, UserAddressPageUI.NAME_TEXT);
+		return visibleThenRead(driver, UserAddressPageUI.NAME_TEXT);
 	}
 	
 	public String getEmailText() {
-		waitForElementVisible(driver, UserAddressPageUI.EMAIL_TEXT);
-		return getElementText(driver, UserAddressPageUI.EMAIL_TEXT);
+		return visibleThenRead(driver, UserAddressPageUI.EMAIL_TEXT);
 	}
 	
 	public String getPhoneText() {
-		waitForElementVisible(driver, UserAddressPageUI.PHONE_TEXT);
-		return getElementText(driver, UserAddressPageUI.PHONE_TEXT);
+		return visibleThenRead(driver, UserAddressPageUI.PHONE_TEXT);
 	}
 	
 	public String getAddress1Text() {
-		waitForElementVisible(driver, UserAddressPageUI.ADDRESS_1_TEXT);
-		return getElementText(driver, UserAddressPageUI.ADDRESS_1_TEXT);
+		return visibleThenRead(driver, UserAddressPageUI.ADDRESS_1_TEXT);
 	}
 	
 	public String getAddress2Text() {
-		waitForElementVisible(driver, UserAddressPageUI.ADDRESS_2_TEXT);
-		return getElementText(driver, UserAddressPageUI.ADDRESS_2_TEXT);
+		return visibleThenRead(driver, UserAddressPageUI.ADDRESS_2_TEXT);
 	}
 	
 	public String getCountryText() {
-		waitForElementVisible(driver, UserAddressPageUI.COUNTRY_TEXT);
-		return getElementText(driver, UserAddressPageUI.COUNTRY_TEXT);
+		return visibleThenRead(driver, UserAddressPageUI.COUNTRY_TEXT);
 	}
 	
 	public String getCityStateText() {
-		waitForElementVisible(driver, UserAddressPageUI.CITY_STATE_TEXT);
-		return getElementText(driver, UserAddressPageUI.CITY_STATE_TEXT);
+		return visibleThenRead(driver, UserAddressPageUI.CITY_STATE_TEXT);
 	}
 }
@@ -12,33 +12,27 @@ public class UserChangePasswordPageObject extends BasePage {
 	}
 	
 	public void inputOldPassword(String password) {
-		waitForElementVisible(driver, UserChangePasswordPageUI.OLD_PASSWORD_TEXTBOX);
-		inputIntoElement(driver, UserChangePasswordPageUI.OLD_PASSWORD_TEXTBOX, password);
+		visibleThenType(driver, UserChangePasswordPageUI.OLD_PASSWORD_TEXTBOX, password);
 	}
 	
 	public void inputNewPassword(String password) {
-		waitForElementVisible(driver, UserChangePasswordPageUI.NEW_PASSWORD_TEXTBOX);
-		inputIntoElement(driver, UserChangePasswordPageUI.NEW_PASSWORD_TEXTBOX, password);
+		visibleThenType(driver, UserChangePasswordPageUI.NEW_PASSWORD_TEXTBOX, password);
 	}
 	
 	public void inputConfirmPassword(String password) {
-		waitForElementVisible(driver, UserChangePasswordPageUI.CONFIRM_PASSWORD_TEXTBOX);
-		inputIntoElement(driver, UserChangePasswordPageUI.CONFIRM_PASSWORD_TEXTBOX, password);
+		visibleThenType(driver, UserChangePasswordPageUI.CONFIRM_PASSWORD_TEXTBOX, password);
 	}
 	
 	public void clickChangePassword() {
-		waitForElementClickable(driver, UserChangePasswordPageUI.CHANGE_PASSWORD_BUTTON);
-		clickElement(driver, UserChangePasswordPageUI.CHANGE_PASSWORD_BUTTON);
+		clickableThenClick(driver, UserChangePasswordPageUI.CHANGE_PASSWORD_BUTTON);
 	}
 	
 	public void closeSuccessPopUp() {
-		waitForElementClickable(driver, UserChangePasswordPageUI.CLOSE_POPUP_BUTTON);
-		clickElement(driver, UserChangePasswordPageUI.CLOSE_POPUP_BUTTON);
+		clickableThenClick(driver, UserChangePasswordPageUI.CLOSE_POPUP_BUTTON);
 		waitForStaleness(driver, UserChangePasswordPageUI.CLOSE_POPUP_BUTTON);
 	}
 
 	public String getSuccessMessage() {
-		waitForElementVisible(driver, UserChangePasswordPageUI.SUCCESS_MESSAGE);
-		return getElementText(driver, UserChangePasswordPageUI.SUCCESS_MESSAGE);
+		return visibleThenRead(driver, UserChangePasswordPageUI.SUCCESS_MESSAGE);
 	}
 }
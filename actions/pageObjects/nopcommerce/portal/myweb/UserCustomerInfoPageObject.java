@@ -11,23 +11,19 @@ public class UserCustomerInfoPageObject extends BasePage {
 	}
 	
 	public void selectMaleGender() {
-		waitForElementClickable(driver, UserCustomerInfoPageUI.MALE_RADIO_BUTTON);
-		clickElement(driver,UserCustomerInfoPageUI.MALE_RADIO_BUTTON);
+		clickableThenClick(driver, UserCustomerInfoPageUI.MALE_RADIO_BUTTON);
 	}
 	
 	public void selectFemaleGender() {
-		waitForElementClickable(driver, UserCustomerInfoPageUI.FEMALE_RADIO_BUTTON);
-		clickElement(driver,UserCustomerInfoPageUI.FEMALE_RADIO_BUTTON);
+		clickableThenClick(driver, UserCustomerInfoPageUI.FEMALE_RADIO_BUTTON);
 	}
 	
 	public void inputFirstName(String firstName) {
-		waitForElementVisible(driver, UserCustomerInfoPageUI.FIRSTNAME_TEXTBOX);
-		inputIntoElement(driver,UserCustomerInfoPageUI.FIRSTNAME_TEXTBOX, firstName);
+		visibleThenType(driver, UserCustomerInfoPageUI.FIRSTNAME_TEXTBOX, firstName);
 	}
 	
 	public void inputLastName(String lastName) {
-		waitForElementVisible(driver, UserCustomerInfoPageUI.LASTNAME_TEXTBOX);
-		inputIntoElement(driver,UserCustomerInfoPageUI.LASTNAME_TEXTBOX, lastName);
+		visibleThenType(driver, UserCustomerInfoPageUI.LASTNAME_TEXTBOX, lastName);
 	}
 	
 	public void selectDay(String day) {
@@ -46,13 +42,11 @@ public class UserCustomerInfoPageObject extends BasePage {
 	}
 	
 	public void inputEmail(String email) {
-		waitForElementVisible(driver, UserCustomerInfoPageUI.EMAIL_TEXTBOX);
-		inputIntoElement(driver,UserCustomerInfoPageUI.EMAIL_TEXTBOX, email);
+		visibleThenType(driver, UserCustomerInfoPageUI.EMAIL_TEXTBOX, email);
 	}
 	
 	public void inputCompany(String company) {
-		waitForElementVisible(driver, UserCustomerInfoPageUI.COMPANY_TEXTBOX);
-		inputIntoElement(driver,UserCustomerInfoPageUI.COMPANY_TEXTBOX, company);
+		visibleThenType(driver, UserCustomerInfoPageUI.COMPANY_TEXTBOX, company);
 	}
 	
 	public void selectNewsletter() {
@@ -61,8 +55,7 @@ public class UserCustomerInfoPageObject extends BasePage {
 	}
 	
 	public void clickSave() {
-		waitForElementClickable(driver, UserCustomerInfoPageUI.SAVE_BUTTON);
-		clickElement(driver, UserCustomerInfoPageUI.SAVE_BUTTON);
+		clickableThenClick(driver, UserCustomerInfoPageUI.SAVE_BUTTON);
 	}
 	
     public boolean isFemaleSelected()
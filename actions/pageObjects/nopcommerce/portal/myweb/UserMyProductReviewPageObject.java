@@ -12,12 +12,10 @@ public class UserMyProductReviewPageObject extends BasePage {
 	}
 	
 	public String getReviewTitle() {
-		waitForElementVisible(driver, UserMyProductReviewPageUI.REVIEW_TITLE);
-		return getElementText(driver, UserMyProductReviewPageUI.REVIEW_TITLE);
+		return visibleThenRead(driver, UserMyProductReviewPageUI.REVIEW_TITLE);
 	}
 	
 	public String getReviewText() {
-		waitForElementVisible(driver, UserMyProductReviewPageUI.REVIEW_TEXT);
-		return getElementText(driver, UserMyProductReviewPageUI.REVIEW_TEXT);
+		return visibleThenRead(driver, UserMyProductReviewPageUI.REVIEW_TEXT);
 	}
 }
@@ -2,18 +2,19 @@ package tip_trick;
 
 import java.util.Set;
 
-import org.openqa.selenium.By;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import commons.BasePage;
 import commons.BaseTest;
 
 public class Handle_Cookie extends BaseTest {
 	WebDriver driver;
 	Set<Cookie> allCookies;
+	BasePage basePage = BasePage.getBasePage();
 
 	@BeforeClass
 	public void beforeClass() {
@@ -23,11 +24,11 @@ public class Handle_Cookie extends BaseTest {
 
 	@Test
 	public void TC_01_Get_Cookie() {
-		driver.findElement(By.xpath("//input[@name='email']")).sendKeys("...");
-		driver.findElement(By.xpath("//input[@name='pass']")).sendKeys("...");
-		driver.findElement(By.xpath("//input[@data-testid='royal_login_button']")).click();
+		basePage.visibleThenType(driver, "//input[@name='email']", "...");
+		basePage.visibleThenType(driver, "//input[@name='pass']", "...");
+		basePage.clickableThenClick(driver, "//input[@data-testid='royal_login_button']");
 
-		sleepInSecond(5);
+		basePage.sleepInSecond(5);
 
 		allCookies = driver.manage().getCookies();
 		System.out.println("Cookie name = " + allCookies);
@@ -42,19 +43,11 @@ public class Handle_Cookie extends BaseTest {
 		allCookies = driver.manage().getCookies();
 		System.out.println("Cookie name = " + allCookies);
 		driver.navigate().refresh();
-		sleepInSecond(5);
+		basePage.sleepInSecond(5);
 	}
 
 	@AfterMethod
 	public void afterMethod() {
 		driver.quit();
 	}
-
-	public void sleepInSecond(long time) {
-		try {
-			Thread.sleep(time * 1000);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
-	}
 }
\ No newline at end of file
@@ -12,13 +12,11 @@ public class RegisterPageObject extends BasePage {
 	}
 
 	public void clickRegisterButton() {
-		waitForElementClickable(driver, RegisterPageUI.REGISTER_BUTTON);
-		clickElement(driver, RegisterPageUI.REGISTER_BUTTON);
+		clickableThenClick(driver, RegisterPageUI.REGISTER_BUTTON);
 	}
 	
 	public void clickRegisterLink() {
-		waitForElementClickable(driver, RegisterPageUI.REGISTER_LINK);
-		clickElement(driver, RegisterPageUI.REGISTER_LINK);
+		clickableThenClick(driver, RegisterPageUI.REGISTER_LINK);
 	}
 
 	public boolean isEmailTextboxDisplayed() {
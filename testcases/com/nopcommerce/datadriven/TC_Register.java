@@ -8,6 +8,7 @@ import org.testng.annotations.Test;
 import com.nopcommerce.data.RegisterData;
 
 import commons.BaseTest;
+import commons.DriverHandle;
 import commons.GlobalConstants;
 import commons.PageGeneratorManager;
 import pageObjects.nopcommerce.portal.UserHomePageObject;
@@ -23,10 +24,11 @@ public class TC_Register extends BaseTest {
 	@BeforeClass
 	public void beforeClass() {
 		log.info("Pre-condition: Open browser chrome and navigate to "+ GlobalConstants.USER_PORTAL_PAGE_URL);
-		driver = getBrowserDriver("chrome",GlobalConstants.USER_PORTAL_PAGE_URL);
+		DriverHandle driverHandle = getBrowserDriverAsync("chrome",GlobalConstants.USER_PORTAL_PAGE_URL);
+		registerData = RegisterData.getRegisterData();
+		driver = driverHandle.get();
 		homePage = PageGeneratorManager.getPageGenerator().getUserHomePage(driver);
 		emailAddress = "test"+ homePage.getRandomNumber()+"@gmail.com";
-		registerData = RegisterData.getRegisterData();
 	}
 	
 	@Test
@@ -58,7 +60,7 @@ public class TC_Register extends BaseTest {
 		verifyEquals(registerPage.getSuccessMessage(), "Your registration completed");
 		log.info("Step 11: Click log out link");
 		homePage =registerPage.clickLogOutLink();
-		homePage.sleepInSecond(1);
+		homePage.waitForPageQuiet(driver);
 	}
 
 	@AfterClass
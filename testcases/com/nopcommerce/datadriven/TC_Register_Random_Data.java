@@ -72,7 +72,7 @@ public class TC_Register_Random_Data extends BaseTest {
 		verifyEquals(registerPage.getSuccessMessage(), "Your registration completed");
 		log.info("Step 11: Click log out link");
 		homePage =registerPage.clickLogOutLink();
-		homePage.sleepInSecond(1);
+		homePage.waitForPageQuiet(driver);
 		
 		loginPage = homePage.clickLogInLink();
 		loginPage.inputEmail(emailAddress);
@@ -0,0 +1,106 @@
+package com.nopcommerce.grid;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for a Selenium 3 hub: reports its slot counts on /grid/api/hub
+ * and creates/deletes empty sessions, so the grid scheduler can be tested without a grid
+ */
+public class FakeGridNode {
+	private final HttpServer server;
+	private final int totalSlots;
+	private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+	private volatile int busySlots;
+	private volatile boolean failing;
+	private volatile boolean rejectingSessions;
+
+	public FakeGridNode(int totalSlots) throws IOException {
+		this.totalSlots = totalSlots;
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	public URL getHubUrl() throws IOException {
+		return new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/wd/hub");
+	}
+
+	public String getEndpoint() {
+		return "127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public int getSessionCount() {
+		return sessions.size();
+	}
+
+	/**
+	 * Slots used by sessions of other clients
+	 */
+	public void setBusySlots(int busySlots) {
+		this.busySlots = busySlots;
+	}
+
+	/**
+	 * Answer every new session request with a node error
+	 */
+	public void setFailing(boolean failing) {
+		this.failing = failing;
+	}
+
+	/**
+	 * Answer every new session request with "session not created", like a node whose browser does not start
+	 */
+	public void setRejectingSessions(boolean rejectingSessions) {
+		this.rejectingSessions = rejectingSessions;
+	}
+
+	public void stop() {
+		server.stop(0);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		String method = exchange.getRequestMethod();
+		String path = exchange.getRequestURI().getPath();
+		if (method.equals("GET") && path.equals("/grid/api/hub")) {
+			int free = Math.max(0, totalSlots - busySlots - sessions.size());
+			respond(exchange, 200, "{\"slotCounts\":{\"free\":" + free + ",\"total\":" + totalSlots + "}}");
+		} else if (method.equals("POST") && path.equals("/wd/hub/session")) {
+			exchange.getRequestBody().readAllBytes();
+			if (failing) {
+				respond(exchange, 500, "{\"value\":{\"error\":\"unknown error\",\"message\":\"Fake node failure\",\"stacktrace\":\"\"}}");
+				return;
+			}
+			if (rejectingSessions) {
+				respond(exchange, 500, "{\"value\":{\"error\":\"session not created\",\"message\":\"Fake browser did not start\",\"stacktrace\":\"\"}}");
+				return;
+			}
+			String sessionId = UUID.randomUUID().toString();
+			sessions.add(sessionId);
+			respond(exchange, 200, "{\"value\":{\"sessionId\":\"" + sessionId + "\",\"capabilities\":{\"browserName\":\"chrome\"}}}");
+		} else if (method.equals("DELETE") && path.startsWith("/wd/hub/session/")) {
+			sessions.remove(path.substring("/wd/hub/session/".length()));
+			respond(exchange, 200, "{\"value\":null}");
+		} else {
+			respond(exchange, 404, "{\"value\":{\"error\":\"unknown command\",\"message\":\"" + path + "\",\"stacktrace\":\"\"}}");
+		}
+	}
+
+	private void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] content = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, content.length);
+		try (OutputStream output = exchange.getResponseBody()) {
+			output.write(content);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.nopcommerce.grid;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import factoryBrowser.GridScheduler;
+
+public class TC_Grid_Scheduler {
+	FakeGridNode firstNode, secondNode;
+	GridScheduler scheduler;
+
+	@BeforeMethod
+	public void beforeMethod() throws IOException {
+		firstNode = new FakeGridNode(2);
+		secondNode = new FakeGridNode(2);
+		scheduler = new GridScheduler(Arrays.asList(firstNode.getHubUrl(), secondNode.getHubUrl()), 100, 60000);
+	}
+
+	@Test
+	public void TC_01_Place_Session_On_Least_Loaded_Node() {
+		firstNode.setBusySlots(1);
+		WebDriver driver = scheduler.createSession(DesiredCapabilities.chrome(), 5);
+		Assert.assertEquals(secondNode.getSessionCount(), 1);
+		Assert.assertEquals(firstNode.getSessionCount(), 0);
+		driver.quit();
+		Assert.assertEquals(secondNode.getSessionCount(), 0);
+	}
+
+	@Test
+	public void TC_02_Retry_On_Other_Node_When_Session_Creation_Fails() {
+		secondNode.setBusySlots(1);
+		firstNode.setFailing(true);
+		WebDriver driver = scheduler.createSession(DesiredCapabilities.chrome(), 5);
+		Assert.assertEquals(secondNode.getSessionCount(), 1);
+		driver.quit();
+	}
+
+	@Test
+	public void TC_03_Queue_Until_A_Slot_Is_Free() throws Exception {
+		firstNode.setBusySlots(2);
+		secondNode.setBusySlots(1);
+		WebDriver firstDriver = scheduler.createSession(DesiredCapabilities.chrome(), 5);
+		CompletableFuture<WebDriver> queuedSession = CompletableFuture.supplyAsync(() -> scheduler.createSession(DesiredCapabilities.chrome(), 10));
+		Thread.sleep(500);
+		Assert.assertFalse(queuedSession.isDone());
+		firstDriver.quit();
+		WebDriver secondDriver = queuedSession.get(10, TimeUnit.SECONDS);
+		Assert.assertEquals(secondNode.getSessionCount(), 1);
+		secondDriver.quit();
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void TC_04_Give_Up_When_Every_Node_Stays_Full() {
+		firstNode.setBusySlots(2);
+		secondNode.setBusySlots(2);
+		scheduler.createSession(DesiredCapabilities.chrome(), 1);
+	}
+
+	@Test
+	public void TC_05_Retry_On_Other_Node_When_Session_Is_Rejected() {
+		firstNode.setRejectingSessions(true);
+		WebDriver driver = scheduler.createSession(DesiredCapabilities.chrome(), 5);
+		Assert.assertEquals(secondNode.getSessionCount(), 1);
+		Assert.assertEquals(firstNode.getSessionCount(), 0);
+		driver.quit();
+		firstNode.setRejectingSessions(false);
+		driver = scheduler.createSession(DesiredCapabilities.chrome(), 5);
+		Assert.assertEquals(firstNode.getSessionCount(), 1, "Endpoint put in cooldown by a rejected session");
+		driver.quit();
+	}
+
+	@Test
+	public void TC_06_Fail_Fast_When_Every_Node_Rejects_The_Session() {
+		firstNode.setRejectingSessions(true);
+		secondNode.setRejectingSessions(true);
+		long start = System.currentTimeMillis();
+		try {
+			scheduler.createSession(DesiredCapabilities.chrome(), 30);
+			Assert.fail("Session created although every node rejects it");
+		} catch (SessionNotCreatedException e) {
+			Assert.assertTrue(System.currentTimeMillis() - start < 5000, "Rejected session waited in queue");
+		}
+	}
+
+	@AfterMethod(alwaysRun = true)
+	public void afterMethod() {
+		firstNode.stop();
+		secondNode.stop();
+	}
+}
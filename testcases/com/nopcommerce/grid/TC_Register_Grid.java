@@ -1,9 +1,7 @@
 package com.nopcommerce.grid;
 import java.util.Random;
 
-import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.Select;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -11,10 +9,16 @@ import org.testng.annotations.Parameters;
 import org.testng.annotations.Test;
 
 import commons.BaseTest;
+import commons.PageGeneratorManager;
+import pageObjects.nopcommerce.portal.UserHomePageObject;
+import pageObjects.nopcommerce.portal.UserLoginPageObject;
+import pageObjects.nopcommerce.portal.UserRegisterPageObject;
 
 public class TC_Register_Grid extends BaseTest {
 	WebDriver driver;
-	Select select;
+	UserHomePageObject homePage;
+	UserRegisterPageObject registerPage;
+	UserLoginPageObject loginPage;
 	String firstName, lastName, email, companyName, password;
 	
 
@@ -23,6 +27,7 @@ public class TC_Register_Grid extends BaseTest {
 	public void beforeClass(String browserName, String url, String ipAddress, String portNumber) {
 		driver = getBrowserDriver(browserName,url,ipAddress,portNumber);
 		//driver = getBrowserDriver(browserName,url);
+		homePage = PageGeneratorManager.getPageGenerator().getUserHomePage(driver);
 
 		firstName = "Tony";
 		lastName = "Buoi Sang";
@@ -33,48 +38,38 @@ public class TC_Register_Grid extends BaseTest {
 
 	@Test
 	public void TC_01_Register() {
-		driver.findElement(By.className("ico-register")).click();
-		driver.findElement(By.id("gender-male")).click();
-		sleepInSecond(2);
+		registerPage = homePage.clickRegisterLink();
+		registerPage.selectMaleGender();
 
-		driver.findElement(By.id("FirstName")).sendKeys(firstName);
-		driver.findElement(By.id("LastName")).sendKeys(lastName);
+		registerPage.inputFirstName(firstName);
+		registerPage.inputLastName(lastName);
 
-		select = new Select(driver.findElement(By.name("DateOfBirthDay")));
-		select.selectByVisibleText("10");
+		registerPage.selectDay("10");
+		registerPage.selectMonth("August");
+		registerPage.selectYear("1960");
 
-		select = new Select(driver.findElement(By.name("DateOfBirthMonth")));
-		select.selectByVisibleText("August");
+		registerPage.inputEmail(email);
+		registerPage.inputCompany(companyName);
+		registerPage.inputPassword(password);
+		registerPage.inputConfirmPassword(password);
 
-		select = new Select(driver.findElement(By.name("DateOfBirthYear")));
-		select.selectByVisibleText("1960");
+		registerPage.clickRegisterButton();
 
-		driver.findElement(By.id("Email")).sendKeys(email);
-		driver.findElement(By.id("Company")).sendKeys(companyName);
-		driver.findElement(By.id("Password")).sendKeys(password);
-		driver.findElement(By.id("ConfirmPassword")).sendKeys(password);
+		Assert.assertEquals(registerPage.getSuccessMessage(), "Your registration completed");
 
-		driver.findElement(By.id("register-button")).click();
-		sleepInSecond(2);
-
-		Assert.assertEquals(driver.findElement(By.xpath("//div[@class='page registration-result-page']//div[@class='result']")).getText(), "Your registration completed");
-
-		driver.findElement(By.className("ico-logout")).click();
-		sleepInSecond(2);
+		homePage = registerPage.clickLogOutLink();
 	}
 
 	@Test
 	public void TC_02_Login() {
-		driver.findElement(By.className("ico-login")).click();
-		sleepInSecond(2);
+		loginPage = homePage.clickLogInLink();
 
-		driver.findElement(By.id("Email")).sendKeys(email);
-		driver.findElement(By.id("Password")).sendKeys(password);
-		driver.findElement(By.cssSelector(".login-button")).click();
-		sleepInSecond(2);
+		loginPage.inputEmail(email);
+		loginPage.inputPassword(password);
+		homePage = loginPage.clickLoginButton();
 
-		Assert.assertTrue(driver.findElement(By.className("ico-account")).isDisplayed());
-		Assert.assertTrue(driver.findElement(By.className("ico-logout")).isDisplayed());
+		Assert.assertTrue(homePage.isMyAccountLinkDisplayed());
+		Assert.assertTrue(homePage.isLogOutLinkDisplayed());
 	}
 
 	public int getRandomNumber() {
@@ -82,17 +77,9 @@ public class TC_Register_Grid extends BaseTest {
 		return rand.nextInt(999999);
 	}
 
-	public void sleepInSecond(long time) {
-		try {
-			Thread.sleep(time * 1000);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
-	}
-
 	@AfterClass
 	public void afterClass() {
 		driver.quit();
 	}
 
-}
\ No newline at end of file
+}
@@ -90,7 +90,7 @@ public class TC_Register extends BaseTest {
 		verifyEquals(registerPage.getSuccessMessage(), "Your registration completed");
 		log.info("Step 11: Click log out link");
 		homePage =registerPage.clickLogOutLink();
-		homePage.sleepInSecond(1);
+		homePage.waitForPageQuiet(driver);
 	}
 	
 	@Test
@@ -104,7 +104,7 @@ public class TC_Register_Extent extends BaseTest {
 		assertEquals(registerPage.getSuccessMessage(), "Your registration completed");
 		ExtentTestManagerV2.getTest().log(LogStatus.INFO, "Step 11: Click log out link");
 		homePage =registerPage.clickLogOutLink();
-		homePage.sleepInSecond(1);
+		homePage.waitForPageQuiet(driver);
 		ExtentTestManagerV2.endTest();
 	}
 	
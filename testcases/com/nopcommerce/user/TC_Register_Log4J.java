@@ -94,7 +94,7 @@ public class TC_Register_Log4J extends BaseTest {
 		assertEquals(registerPage.getSuccessMessage(), "Your registration completed");
 		log.info("Step 11: Click log out link");
 		homePage =registerPage.clickLogOutLink();
-		homePage.sleepInSecond(1);
+		homePage.waitForPageQuiet(driver);
 	}
 	
 	@Parameters("browser")
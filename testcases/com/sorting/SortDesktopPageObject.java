@@ -12,17 +12,17 @@ public class SortDesktopPageObject extends BasePage {
 	}
 
 	public boolean isItemSortedByNameAscending() {
-		areJQueryAndJSLoadedSuccess(driver);
+		waitForPageQuiet(driver);
 		return isDataStringSortedAscending(driver, SortDesktopPageUI.PRODUCT_TITLE_LABEL);
 	}
 
 	public boolean isItemSortedByPriceAscending() {
-		areJQueryAndJSLoadedSuccess(driver);
+		waitForPageQuiet(driver);
 		return isDataFloatSortedAscending(driver, SortDesktopPageUI.PRODUCT_PRICE_LABEL);
 	}
 
 	public boolean isItemSortedByPriceDescending() {
-		areJQueryAndJSLoadedSuccess(driver);
+		waitForPageQuiet(driver);
 		return isDataFloatSortedDescending(driver, SortDesktopPageUI.PRODUCT_PRICE_LABEL);
 	}
 }
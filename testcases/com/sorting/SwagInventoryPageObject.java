@@ -16,22 +16,22 @@ public class SwagInventoryPageObject extends BasePage {
 	}
 
 	public boolean isInventoryItemSortedByNameAscending() {
-		areJQueryAndJSLoadedSuccess(driver);
+		waitForPageQuiet(driver);
 		return isDataStringSortedAscending(driver, SwagInventoryPageUI.PRODUCT_NAME_LABEL);
 	}
 
 	public boolean isInventoryItemSortedByNameDescending() {
-		areJQueryAndJSLoadedSuccess(driver);
+		waitForPageQuiet(driver);
 		return isDataStringSortedDescending(driver, SwagInventoryPageUI.PRODUCT_NAME_LABEL);
 	}
 	
 	public boolean isInventoryItemSortedByPriceAscending() {
-		areJQueryAndJSLoadedSuccess(driver);
+		waitForPageQuiet(driver);
 		return isDataFloatSortedAscending(driver, SwagInventoryPageUI.PRODUCT_PRICE_LABEL);
 	}
 
 	public boolean isInventoryItemSortedByPriceDescending() {
-		areJQueryAndJSLoadedSuccess(driver);
+		waitForPageQuiet(driver);
 		return isDataFloatSortedDescending(driver, SwagInventoryPageUI.PRODUCT_PRICE_LABEL);
 	}
 
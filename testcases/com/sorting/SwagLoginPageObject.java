@@ -20,8 +20,7 @@ public class SwagLoginPageObject extends BasePage {
 
 	private void clickLoginButton() {
 		// TODO Auto-generated method stub
-		waitForElementClickable(driver, SwagLoginPageUI.LOGIN_BUTTON);
-		clickElement(driver, SwagLoginPageUI.LOGIN_BUTTON);
+		clickableThenClick(driver, SwagLoginPageUI.LOGIN_BUTTON);
 	}
 
 }
@@ -0,0 +1,87 @@
+package com.sorting;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import commons.SortVerifier;
+import commons.SortVerifier.Order;
+import commons.SortVerifier.SortResult;
+import commons.SortVerifier.Ties;
+
+public class TC_Sort_Verifier {
+	SortVerifier english = SortVerifier.getVerifier(Locale.ENGLISH);
+
+	@Test
+	public void TC_01_Parse_Number_Formats() {
+		Assert.assertEquals(english.parseNumber("$1,200.50"), 1200.50);
+		Assert.assertEquals(english.parseNumber("-5"), -5.0);
+		Assert.assertEquals(english.parseNumber("-$5.25"), -5.25);
+		Assert.assertEquals(english.parseNumber("$-5.25"), -5.25);
+		Assert.assertEquals(english.parseNumber("From 3.99 to 5.99"), 3.99);
+		Assert.assertEquals(english.parseNumber("Price: 5"), 5.0);
+		Assert.assertEquals(english.parseNumber("Version 2."), 2.0);
+		Assert.assertEquals(SortVerifier.getVerifier(Locale.GERMANY).parseNumber("1.234,56 EUR"), 1234.56);
+		Assert.assertEquals(SortVerifier.getVerifier(Locale.FRANCE).parseNumber("1 234,56"), 1234.56);
+	}
+
+	@Test
+	public void TC_02_Dash_Before_The_Text_Is_Not_A_Minus_Sign() {
+		Assert.assertEquals(english.parseNumber("Product - $12.99"), 12.99);
+		Assert.assertEquals(english.parseNumber("Apple-Phone 12"), 12.0);
+		Assert.assertEquals(english.parseNumber("Size - 42"), 42.0);
+	}
+
+	@Test(expectedExceptions = NumberFormatException.class)
+	public void TC_03_Fail_On_Text_Without_Number() {
+		english.parseNumber("Call for price");
+	}
+
+	@Test(expectedExceptions = NumberFormatException.class)
+	public void TC_04_Fail_On_Number_Overflow() {
+		english.parseNumber("$12,345,678,901,234,567,890.12");
+	}
+
+	@Test
+	public void TC_05_Parse_Default_Date_Patterns() {
+		long may14 = english.parseDate("May 14, 2024");
+		Assert.assertEquals(english.parseDate("Tuesday, May 14, 2024"), may14);
+		Assert.assertEquals(english.parseDate("May 14, 2024"), may14);
+		Assert.assertEquals(english.parseDate("May 14 2024"), may14);
+		Assert.assertEquals(english.parseDate("5/14/2024"), may14);
+		Assert.assertEquals(english.parseDate("2024-05-14"), may14);
+		Assert.assertEquals(english.parseDate("Order Date: May 14, 2024"), may14);
+		Assert.assertEquals(english.parseDate("5/14/2024 1:30:00 PM") - may14, 13 * 3600_000L + 30 * 60_000L);
+		Assert.assertEquals(english.parseDate("2024-05-14 13:30:00"), english.parseDate("2024-05-14T13:30:00"));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void TC_06_Fail_On_Unknown_Date_Pattern() {
+		english.parseDate("14.05.2024");
+	}
+
+	@Test
+	public void TC_07_Ties_Allowed_Unless_Strict_Order() {
+		Assert.assertTrue(english.checkNumbers(Arrays.asList("$1.00", "$1.00", "$2.00"), Order.ASCENDING).isSorted());
+		Assert.assertEquals(english.checkNumbers(Arrays.asList("$1.00", "$1.00", "$2.00"), Order.ASCENDING, Ties.REJECTED).getFirstUnsortedIndex(), 1);
+		Assert.assertTrue(english.checkStrings(Arrays.asList("Banana", "banana", "Cherry"), Order.ASCENDING).isSorted());
+		Assert.assertFalse(english.checkStrings(Arrays.asList("Banana", "banana", "Cherry"), Order.ASCENDING, Ties.REJECTED).isSorted());
+		Assert.assertTrue(english.checkDates(Arrays.asList("May 15, 2024", "May 14, 2024", "May 14, 2024"), Order.DESCENDING).isSorted());
+		Assert.assertFalse(english.checkDates(Arrays.asList("May 15, 2024", "May 14, 2024", "May 14, 2024"), Order.DESCENDING, Ties.REJECTED).isSorted());
+	}
+
+	@Test
+	public void TC_08_Report_First_Unsorted_Index() {
+		SortResult result = english.checkNumbers(Arrays.asList("1", "3", "2", "0"), Order.ASCENDING);
+		Assert.assertFalse(result.isSorted());
+		Assert.assertEquals(result.getFirstUnsortedIndex(), 2);
+		Assert.assertEquals(result.getUnsortedPair(), Arrays.asList("3", "2"));
+		Assert.assertEquals(english.checkStrings(Arrays.asList("Apple", "Cherry", "Banana"), Order.ASCENDING).getFirstUnsortedIndex(), 2);
+		Assert.assertEquals(english.checkStrings(Arrays.asList("Cherry", "Banana", "Apple"), Order.DESCENDING).getFirstUnsortedIndex(), -1);
+		Assert.assertEquals(SortVerifier.firstUnsortedIndex(new long[] { 3, 2, 2, 5 }, Order.DESCENDING, Ties.ALLOWED), 3);
+		Assert.assertEquals(SortVerifier.firstUnsortedIndex(new double[] {}, Order.ASCENDING, Ties.REJECTED), -1);
+		Assert.assertTrue(english.checkNumbers(Arrays.asList("$5.00"), Order.DESCENDING, Ties.REJECTED).getUnsortedPair().isEmpty());
+	}
+}
@@ -0,0 +1,86 @@
+package commons;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TC_Locator_Registry {
+	LocatorRegistry registry = LocatorRegistry.getRegistry();
+
+	@Test
+	public void TC_01_Render_Every_PageUI_Template_Like_String_Format() {
+		int templates = 0;
+		for (Class<?> uiClass : LocatorNames.loadUiClasses("pageUI")) {
+			for (String template : LocatorNames.getLocators(uiClass).values()) {
+				if (!template.contains("%s")) {
+					continue;
+				}
+				templates++;
+				for (String[] params : paramsFor(template)) {
+					Assert.assertEquals(registry.render(template, params), String.format(template, (Object[]) params), uiClass.getSimpleName() + ": " + template);
+				}
+			}
+		}
+		Assert.assertTrue(templates > 0, "No %s template found in pageUI");
+	}
+
+	@Test
+	public void TC_02_Render_Escaped_Percent_Like_String_Format() {
+		String template = "//td[text()='100%%']/following-sibling::td[text()='%s']";
+		Assert.assertEquals(registry.render(template, "Books"), String.format(template, "Books"));
+		Assert.assertEquals(registry.render("//a[text()='%1$s' or @title='%1$s']", "Books"), String.format("//a[text()='%1$s' or @title='%1$s']", "Books"));
+	}
+
+	@Test
+	public void TC_03_Reject_Number_Placeholder_Like_String_Format() {
+		String template = "//table//tr[%d]/td[text()='%s']";
+		Class<? extends Exception> expected = formatFailure(() -> String.format(template, "3", "Books"));
+		Assert.assertNotNull(expected, "String.format accepted a String for %d");
+		Assert.assertEquals(formatFailure(() -> registry.render(template, "3", "Books")), expected);
+	}
+
+	@Test(expectedExceptions = MissingFormatArgumentException.class)
+	public void TC_04_Fail_On_Missing_Argument() {
+		registry.render("//div[@class='%s']//a[text()='%s']", "footer");
+	}
+
+	@Test
+	public void TC_05_Ignore_Extra_Arguments_Like_String_Format() {
+		String template = "//div[@class='%s']";
+		Assert.assertEquals(registry.render(template, "footer", "unused"), String.format(template, "footer", "unused"));
+	}
+
+	/**
+	 * Exact number of values, one more, and values with characters special to regex replacements
+	 */
+	private static List<String[]> paramsFor(String template) {
+		int placeholders = template.split("%s", -1).length - 1;
+		String[] exact = new String[placeholders];
+		String[] extra = new String[placeholders + 1];
+		String[] special = new String[placeholders];
+		for (int i = 0; i < extra.length; i++) {
+			extra[i] = "value" + i;
+			if (i < placeholders) {
+				exact[i] = "value" + i;
+				special[i] = "$" + i + "\\%s'" + i;
+			}
+		}
+		List<String[]> params = new ArrayList<>();
+		params.add(exact);
+		params.add(extra);
+		params.add(special);
+		return params;
+	}
+
+	private static Class<? extends Exception> formatFailure(Runnable format) {
+		try {
+			format.run();
+			return null;
+		} catch (RuntimeException e) {
+			return e.getClass();
+		}
+	}
+}